@@ -20,7 +20,15 @@ public class Main {
 
         // Create and show the GUI
         SwingUtilities.invokeLater(() -> {
-            TodoGUI gui = new TodoGUI();
+            TodoGUI gui;
+            try {
+                gui = new TodoGUI();
+            } catch (IllegalStateException e) {
+                // The tasks are already open in another window or command
+                JOptionPane.showMessageDialog(null, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                System.exit(1);
+                return;
+            }
             gui.setVisible(true);
         });
     }
@@ -0,0 +1,229 @@
+package com.vault.todo.cli;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import com.vault.todo.repository.TaskFilter;
+import com.vault.todo.repository.TaskSort;
+import com.vault.todo.service.TaskService;
+
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command-line client for the default task store, for scripts and batch jobs
+ * Runs one command per invocation against the same tasks the window shows. Only one process
+ * can have the tasks open at a time, so a command fails while the window is open.
+ */
+public class TaskCli {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: TaskCli <command> [arguments]",
+            "  add <title> [--description text] [--priority LOW|MEDIUM|HIGH] [--due YYYY-MM-DD]",
+            "  edit <id> <title> [--description text] [--priority LOW|MEDIUM|HIGH] [--due YYYY-MM-DD]",
+            "  list [ALL|PENDING|COMPLETED|OVERDUE|DUE_TODAY] [--sort BY_PRIORITY|BY_DUE_DATE|BY_TITLE] [--search text]",
+            "  done <id>",
+            "  toggle <id>",
+            "  delete <id>",
+            "  stats",
+            "  import <file.json>",
+            "  export <file.json>");
+
+    private final TaskService service;
+    private final PrintStream out;
+
+    public TaskCli(TaskService service, PrintStream out) {
+        this.service = service;
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        TaskService service;
+        try {
+            service = TaskService.open();
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        boolean ok;
+        try {
+            ok = new TaskCli(service, System.out).run(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            ok = false;
+        } finally {
+            service.close();
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run one command, returning false if it named a task that does not exist
+     * Bad arguments are reported as IllegalArgumentException
+     */
+    public boolean run(String[] args) {
+        Options options = Options.parse(args);
+        String command = options.positional(0, "command");
+        LocalDate today = LocalDate.now();
+        switch (command) {
+            case "add": {
+                Task task = service.create(options.positional(1, "title"), options.description,
+                        options.priority(), TaskService.parseDueDate(options.due));
+                out.println("Added " + format(task));
+                return true;
+            }
+            case "edit": {
+                // Fields left out keep their current values, --due "" clears the due date
+                Task current = service.get(options.id());
+                if (current == null) {
+                    return report(null, null, options.id());
+                }
+                Task task = service.update(current.getId(), options.positional(2, "title"),
+                        options.description != null ? options.description : current.getDescription(),
+                        options.priority != null ? options.priority() : current.getPriority(),
+                        options.due != null ? TaskService.parseDueDate(options.due) : current.getDueDate());
+                return report(task, "Updated ", current.getId());
+            }
+            case "list": {
+                TaskFilter filter = options.positionals.size() > 1
+                        ? parseEnum(TaskFilter.class, options.positionals.get(1)) : TaskFilter.ALL;
+                TaskSort sort = options.sort != null ? parseEnum(TaskSort.class, options.sort) : TaskSort.BY_PRIORITY;
+                for (Task task : service.find(filter, sort, options.search, today)) {
+                    out.println(format(task));
+                }
+                return true;
+            }
+            case "done":
+                return report(service.setStatus(options.id(), Status.COMPLETED), "Completed ", options.id());
+            case "toggle":
+                return report(service.toggleStatus(options.id()), "Toggled ", options.id());
+            case "delete": {
+                int id = options.id();
+                if (!service.delete(id)) {
+                    System.err.println("No such task: " + id);
+                    return false;
+                }
+                out.println("Deleted task " + id);
+                return true;
+            }
+            case "stats":
+                out.println(service.getStats(today));
+                return true;
+            case "import":
+                out.println("Imported " + service.importTasks(options.positional(1, "file")) + " task(s)");
+                return true;
+            case "export":
+                out.println("Exported " + service.exportTasks(options.positional(1, "file")) + " task(s)");
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command + System.lineSeparator() + USAGE);
+        }
+    }
+
+    /**
+     * Print what was done to a task, or report that the id matched none
+     */
+    private boolean report(Task task, String action, int id) {
+        if (task == null) {
+            System.err.println("No such task: " + id);
+            return false;
+        }
+        out.println(action + format(task));
+        return true;
+    }
+
+    /**
+     * One task per line: id, priority, status, due date and title
+     */
+    static String format(Task task) {
+        LocalDate due = task.getDueDate();
+        return String.format("#%-5d %-6s %-9s %-10s %s", task.getId(), task.getPriority(), task.getStatus(),
+                due != null ? due.toString() : "-", task.getTitle());
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + ": " + name, e);
+        }
+    }
+
+    /**
+     * Positional arguments and --name value options, in any order
+     */
+    private static class Options {
+        private final List<String> positionals = new ArrayList<>();
+        private String description;
+        private String priority;
+        private String due;
+        private String sort;
+        private String search;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    options.positionals.add(arg);
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--description":
+                        options.description = value;
+                        break;
+                    case "--priority":
+                        options.priority = value;
+                        break;
+                    case "--due":
+                        options.due = value;
+                        break;
+                    case "--sort":
+                        options.sort = value;
+                        break;
+                    case "--search":
+                        options.search = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            return options;
+        }
+
+        String positional(int index, String name) {
+            if (index >= positionals.size()) {
+                throw new IllegalArgumentException("Missing " + name + System.lineSeparator() + USAGE);
+            }
+            return positionals.get(index);
+        }
+
+        int id() {
+            String text = positional(1, "task id");
+            try {
+                return Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid task id: " + text, e);
+            }
+        }
+
+        /**
+         * The given priority, LOW by default as in the add dialog
+         */
+        Priority priority() {
+            return priority != null ? parseEnum(Priority.class, priority) : Priority.LOW;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.vault.todo.model;
+
+/**
+ * Source of task descriptions that are left on disk until someone reads them
+ */
+public interface DescriptionLoader {
+    /**
+     * Decode the description of a task, stored as length bytes at offset in the backing file
+     */
+    String loadDescription(Task task, long offset, int length);
+}
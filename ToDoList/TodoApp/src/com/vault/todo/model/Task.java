@@ -5,29 +5,25 @@ import java.time.LocalDateTime;
 
 /**
  * Task model class representing a single to-do item
+ * The fields live in a row of a TaskTable and the task reads and writes them there.
+ * A task built with a constructor gets a table of its own; storing it in a repository
+ * moves it into the repository's table.
  */
 public class Task {
-    private int id;
-    private String title;
-    private String description;
-    private Priority priority;
-    private LocalDate dueDate;
-    private Status status;
-    private LocalDateTime createdAt;
-    private LocalDateTime completedAt;
+    /**
+     * Returned by getDueEpochDay when the task has no due date
+     */
+    public static final int NO_DUE_DATE = TaskTable.NO_DATE;
+
+    TaskTable table;
+    int row;
+    private TaskChangeListener changeListener;
 
     /**
      * Constructor for creating a new task
      */
     public Task(int id, String title, String description, Priority priority, LocalDate dueDate) {
-        this.id = id;
-        this.title = title;
-        this.description = description;
-        this.priority = priority;
-        this.dueDate = dueDate;
-        this.status = Status.PENDING;
-        this.createdAt = LocalDateTime.now();
-        this.completedAt = null;
+        this(id, title, description, priority, dueDate, Status.PENDING, LocalDateTime.now(), null);
     }
 
     /**
@@ -35,111 +31,222 @@ public class Task {
      */
     public Task(int id, String title, String description, Priority priority, LocalDate dueDate,
                 Status status, LocalDateTime createdAt, LocalDateTime completedAt) {
-        this.id = id;
-        this.title = title;
-        this.description = description;
-        this.priority = priority;
-        this.dueDate = dueDate;
-        this.status = status;
-        this.createdAt = createdAt;
-        this.completedAt = completedAt;
+        TaskTable own = new TaskTable(1);
+        this.table = own;
+        this.row = own.add(id, title, description, priority, dueDate, status, createdAt, completedAt).row;
+    }
+
+    /**
+     * View of a row that is already filled in
+     */
+    Task(TaskTable table, int row) {
+        this.table = table;
+        this.row = row;
     }
 
     // Getters
     public int getId() {
-        return id;
+        return table.ids[row];
     }
 
     public String getTitle() {
-        return title;
+        return table.titles[row];
     }
 
+    /**
+     * The description, decoded from the backing file if it is loaded lazily
+     */
     public String getDescription() {
-        return description;
+        DescriptionLoader loader = table.descriptionLoader(row);
+        if (loader != null) {
+            return loader.loadDescription(this, table.descriptionOffsets[row], table.descriptionLengths[row]);
+        }
+        return table.descriptions[row];
     }
 
     public Priority getPriority() {
-        return priority;
+        return table.priority(row);
     }
 
     public LocalDate getDueDate() {
-        return dueDate;
+        return table.dueDate(row);
+    }
+
+    /**
+     * The due date as an epoch day, or NO_DUE_DATE, without creating a LocalDate
+     */
+    public int getDueEpochDay() {
+        return table.dueDays[row];
     }
 
     public Status getStatus() {
-        return status;
+        return table.status(row);
     }
 
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return table.createdAt(row);
     }
 
     public LocalDateTime getCompletedAt() {
-        return completedAt;
+        return table.completedAt(row);
+    }
+
+    /**
+     * Version stamp that changes whenever any field of this task is modified
+     */
+    public long getVersion() {
+        return table.versions[row];
     }
 
     // Setters
     public void setId(int id) {
-        this.id = id;
+        beforeChange();
+        table.ids[row] = id;
+        markModified();
     }
 
     public void setTitle(String title) {
-        this.title = title;
+        beforeChange();
+        table.titles[row] = title;
+        markModified();
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        beforeChange();
+        table.descriptions[row] = description;
+        if (table.descriptionLoaders != null) {
+            table.descriptionLoaders[row] = null;
+        }
+        markModified();
     }
 
     public void setPriority(Priority priority) {
-        this.priority = priority;
+        beforeChange();
+        table.setPriority(row, priority);
+        markModified();
     }
 
     public void setDueDate(LocalDate dueDate) {
-        this.dueDate = dueDate;
+        if (dueDate != null && !TaskTable.canStore(dueDate)) {
+            throw new IllegalArgumentException("Due date out of range: " + dueDate);
+        }
+        beforeChange();
+        table.setDueDate(row, dueDate);
+        markModified();
     }
 
     public void setStatus(Status status) {
-        this.status = status;
-        if (status == Status.COMPLETED && this.completedAt == null) {
-            this.completedAt = LocalDateTime.now();
+        beforeChange();
+        table.setStatus(row, status);
+        if (status == Status.COMPLETED && table.completedSeconds[row] == TaskTable.NO_DATE_TIME) {
+            table.setCompletedAt(row, LocalDateTime.now());
         } else if (status == Status.PENDING) {
-            this.completedAt = null;
+            table.setCompletedAt(row, null);
         }
+        markModified();
     }
 
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        beforeChange();
+        table.setCreatedAt(row, createdAt);
+        markModified();
     }
 
     public void setCompletedAt(LocalDateTime completedAt) {
-        this.completedAt = completedAt;
+        beforeChange();
+        table.setCompletedAt(row, completedAt);
+        markModified();
+    }
+
+    /**
+     * Keep only the position of the description and decode it on each read, used when loading
+     * This is not an edit, the task keeps its version and nobody is notified
+     */
+    public void setLazyDescription(DescriptionLoader loader, long offset, int length) {
+        table.setLazyDescription(row, loader, offset, length);
+    }
+
+    /**
+     * Set the listener told about changes, the repository holding the task uses this
+     */
+    public void setChangeListener(TaskChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public TaskChangeListener getChangeListener() {
+        return changeListener;
+    }
+
+    /**
+     * Move the fields of this task into a row of another table
+     * The task object stays the same, so references to it see the moved row. The old row
+     * is left as it was, since a table that is being replaced may be dropped as a whole.
+     */
+    public void moveTo(TaskTable target) {
+        if (target != table) {
+            row = target.copyRow(table, row);
+            table = target;
+        }
+    }
+
+    /**
+     * Move this task into a table of its own and free its row in the current table
+     */
+    public void detach() {
+        TaskTable source = table;
+        int sourceRow = row;
+        moveTo(new TaskTable(1));
+        source.release(sourceRow);
+    }
+
+    private void beforeChange() {
+        if (changeListener != null) {
+            changeListener.taskChanging(this);
+        }
+    }
+
+    private void markModified() {
+        table.versions[row] = TaskTable.nextVersion();
+        if (changeListener != null) {
+            changeListener.taskChanged(this);
+        }
+    }
+
+    /**
+     * Create a detached copy of this task, without its change listener
+     * The copy keeps the version, since it holds the same state, and a lazily loaded
+     * description stays lazy in the copy
+     */
+    public Task copy() {
+        TaskTable own = new TaskTable(1);
+        return new Task(own, own.copyRow(table, row));
     }
 
     /**
      * Check if task is overdue
      */
     public boolean isOverdue() {
-        return status == Status.PENDING && dueDate != null && dueDate.isBefore(LocalDate.now());
+        int dueDay = getDueEpochDay();
+        return getStatus() == Status.PENDING && dueDay != NO_DUE_DATE && dueDay < LocalDate.now().toEpochDay();
     }
 
     /**
      * Check if task is due today
      */
     public boolean isDueToday() {
-        return dueDate != null && dueDate.equals(LocalDate.now());
+        int dueDay = getDueEpochDay();
+        return dueDay != NO_DUE_DATE && dueDay == LocalDate.now().toEpochDay();
     }
 
     @Override
     public String toString() {
         return "Task{" +
-                "id=" + id +
-                ", title='" + title + '\'' +
-                ", priority=" + priority +
-                ", dueDate=" + dueDate +
-                ", status=" + status +
+                "id=" + getId() +
+                ", title='" + getTitle() + '\'' +
+                ", priority=" + getPriority() +
+                ", dueDate=" + getDueDate() +
+                ", status=" + getStatus() +
                 '}';
     }
 }
 
-
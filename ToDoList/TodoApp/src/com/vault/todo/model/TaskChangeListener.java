@@ -0,0 +1,12 @@
+package com.vault.todo.model;
+
+/**
+ * Notified around every change to a task's fields
+ * taskChanging sees the old values and taskChanged the new ones, so indexes keyed
+ * on a field can move the task from its old entry to its new one.
+ */
+public interface TaskChangeListener {
+    void taskChanging(Task task);
+
+    void taskChanged(Task task);
+}
@@ -0,0 +1,293 @@
+package com.vault.todo.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Column-per-field storage for tasks
+ * Each field of every task lives in one primitive or String array indexed by row: priority
+ * and status as ordinals, the due date as an epoch day and timestamps as epoch seconds plus
+ * nanoseconds. A Task is only a view of one row, so a stored task costs its column entries
+ * and one small view object instead of separate date objects for each field.
+ * Rows freed by release() are reused by later adds. A table is not thread-safe; the
+ * repository guards the table it stores tasks in with its lock.
+ */
+public class TaskTable {
+    /**
+     * Stored in place of a missing due date
+     */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    /**
+     * Stored in place of a missing created or completed time
+     */
+    public static final long NO_DATE_TIME = Long.MIN_VALUE;
+
+    private static final byte NO_ENUM = -1;
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final Status[] STATUSES = Status.values();
+
+    // Global change counter, so a version number identifies one state of one task
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    int[] ids;
+    byte[] priorities;
+    byte[] statuses;
+    int[] dueDays;
+    long[] createdSeconds;
+    int[] createdNanos;
+    long[] completedSeconds;
+    int[] completedNanos;
+    String[] titles;
+    String[] descriptions;
+    long[] versions;
+
+    // Where lazily loaded descriptions live, allocated once the first one is set
+    DescriptionLoader[] descriptionLoaders;
+    long[] descriptionOffsets;
+    int[] descriptionLengths;
+
+    private int size;
+    private int[] freeRows = new int[0];
+    private int freeCount;
+
+    public TaskTable() {
+        this(16);
+    }
+
+    public TaskTable(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new int[capacity];
+        priorities = new byte[capacity];
+        statuses = new byte[capacity];
+        dueDays = new int[capacity];
+        createdSeconds = new long[capacity];
+        createdNanos = new int[capacity];
+        completedSeconds = new long[capacity];
+        completedNanos = new int[capacity];
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+        versions = new long[capacity];
+    }
+
+    /**
+     * Copy tasks into one new table, so many detached copies share its columns
+     */
+    public static List<Task> copyAll(Collection<Task> tasks) {
+        TaskTable table = new TaskTable(tasks.size());
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(new Task(table, table.copyRow(task.table, task.row)));
+        }
+        return copies;
+    }
+
+    /**
+     * Append a task given as objects, null dates and enums are kept as missing
+     */
+    public Task add(int id, String title, String description, Priority priority, LocalDate dueDate,
+                    Status status, LocalDateTime createdAt, LocalDateTime completedAt) {
+        int row = allocate();
+        ids[row] = id;
+        titles[row] = title;
+        descriptions[row] = description;
+        setPriority(row, priority);
+        setStatus(row, status);
+        setDueDate(row, dueDate);
+        setCreatedAt(row, createdAt);
+        setCompletedAt(row, completedAt);
+        versions[row] = nextVersion();
+        return new Task(this, row);
+    }
+
+    /**
+     * Append a task given as stored values, without creating date objects
+     * Dates use NO_DATE and NO_DATE_TIME when missing
+     */
+    public Task add(int id, String title, String description, Priority priority, Status status,
+                    int dueEpochDay, long createdEpochSecond, int createdNano,
+                    long completedEpochSecond, int completedNano) {
+        int row = allocate();
+        ids[row] = id;
+        titles[row] = title;
+        descriptions[row] = description;
+        setPriority(row, priority);
+        setStatus(row, status);
+        dueDays[row] = dueEpochDay;
+        createdSeconds[row] = createdEpochSecond;
+        createdNanos[row] = createdNano;
+        completedSeconds[row] = completedEpochSecond;
+        completedNanos[row] = completedNano;
+        versions[row] = nextVersion();
+        return new Task(this, row);
+    }
+
+    /**
+     * Whether a due date fits the epoch-day column; only dates millions of years away do not
+     */
+    public static boolean canStore(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        return epochDay > NO_DATE && epochDay <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Number of rows in use
+     */
+    public int size() {
+        return size - freeCount;
+    }
+
+    static long nextVersion() {
+        return VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Copy one row of another table into a new row of this one, keeping its version
+     */
+    int copyRow(TaskTable source, int sourceRow) {
+        int row = allocate();
+        ids[row] = source.ids[sourceRow];
+        priorities[row] = source.priorities[sourceRow];
+        statuses[row] = source.statuses[sourceRow];
+        dueDays[row] = source.dueDays[sourceRow];
+        createdSeconds[row] = source.createdSeconds[sourceRow];
+        createdNanos[row] = source.createdNanos[sourceRow];
+        completedSeconds[row] = source.completedSeconds[sourceRow];
+        completedNanos[row] = source.completedNanos[sourceRow];
+        titles[row] = source.titles[sourceRow];
+        descriptions[row] = source.descriptions[sourceRow];
+        versions[row] = source.versions[sourceRow];
+        DescriptionLoader loader = source.descriptionLoader(sourceRow);
+        if (loader != null) {
+            setLazyDescription(row, loader, source.descriptionOffsets[sourceRow], source.descriptionLengths[sourceRow]);
+        } else if (descriptionLoaders != null) {
+            descriptionLoaders[row] = null;
+        }
+        return row;
+    }
+
+    /**
+     * Free a row for reuse, dropping its strings so they can be collected
+     */
+    void release(int row) {
+        titles[row] = null;
+        descriptions[row] = null;
+        if (descriptionLoaders != null) {
+            descriptionLoaders[row] = null;
+        }
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, Math.max(16, freeRows.length * 2));
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    Priority priority(int row) {
+        byte ordinal = priorities[row];
+        return ordinal == NO_ENUM ? null : PRIORITIES[ordinal];
+    }
+
+    void setPriority(int row, Priority priority) {
+        priorities[row] = priority == null ? NO_ENUM : (byte) priority.ordinal();
+    }
+
+    Status status(int row) {
+        byte ordinal = statuses[row];
+        return ordinal == NO_ENUM ? null : STATUSES[ordinal];
+    }
+
+    void setStatus(int row, Status status) {
+        statuses[row] = status == null ? NO_ENUM : (byte) status.ordinal();
+    }
+
+    LocalDate dueDate(int row) {
+        int epochDay = dueDays[row];
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    void setDueDate(int row, LocalDate dueDate) {
+        if (dueDate != null && !canStore(dueDate)) {
+            throw new IllegalArgumentException("Due date out of range: " + dueDate);
+        }
+        dueDays[row] = dueDate == null ? NO_DATE : (int) dueDate.toEpochDay();
+    }
+
+    LocalDateTime createdAt(int row) {
+        return dateTime(createdSeconds[row], createdNanos[row]);
+    }
+
+    void setCreatedAt(int row, LocalDateTime createdAt) {
+        createdSeconds[row] = epochSecond(createdAt);
+        createdNanos[row] = createdAt == null ? 0 : createdAt.getNano();
+    }
+
+    LocalDateTime completedAt(int row) {
+        return dateTime(completedSeconds[row], completedNanos[row]);
+    }
+
+    void setCompletedAt(int row, LocalDateTime completedAt) {
+        completedSeconds[row] = epochSecond(completedAt);
+        completedNanos[row] = completedAt == null ? 0 : completedAt.getNano();
+    }
+
+    DescriptionLoader descriptionLoader(int row) {
+        return descriptionLoaders == null ? null : descriptionLoaders[row];
+    }
+
+    void setLazyDescription(int row, DescriptionLoader loader, long offset, int length) {
+        if (descriptionLoaders == null) {
+            descriptionLoaders = new DescriptionLoader[ids.length];
+            descriptionOffsets = new long[ids.length];
+            descriptionLengths = new int[ids.length];
+        }
+        descriptions[row] = null;
+        descriptionLoaders[row] = loader;
+        descriptionOffsets[row] = offset;
+        descriptionLengths[row] = length;
+    }
+
+    private static LocalDateTime dateTime(long epochSecond, int nano) {
+        return epochSecond == NO_DATE_TIME ? null : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime == null ? NO_DATE_TIME : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Take a free row, or a new one at the end, growing every column when full
+     */
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (size == ids.length) {
+            grow(size * 2);
+        }
+        return size++;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        createdSeconds = Arrays.copyOf(createdSeconds, capacity);
+        createdNanos = Arrays.copyOf(createdNanos, capacity);
+        completedSeconds = Arrays.copyOf(completedSeconds, capacity);
+        completedNanos = Arrays.copyOf(completedNanos, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        if (descriptionLoaders != null) {
+            descriptionLoaders = Arrays.copyOf(descriptionLoaders, capacity);
+            descriptionOffsets = Arrays.copyOf(descriptionOffsets, capacity);
+            descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.vault.todo.repository;
+
+import com.vault.todo.model.Task;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Tasks kept in sorted order for each TaskSort
+ * A view is built the first time its order is asked for and from then on updated in
+ * O(log n) per change: a task leaves its tree on taskChanging, while its sort key still
+ * has the old value, and is re-inserted on taskChanged.
+ * Views may be built by concurrent readers, so building is synchronized.
+ */
+public class SortedTaskViews implements TaskRepositoryListener {
+    private final Collection<Task> source;
+    private final Map<TaskSort, TreeSet<Task>> views = new EnumMap<>(TaskSort.class);
+
+    public SortedTaskViews(Collection<Task> source) {
+        this.source = source;
+    }
+
+    /**
+     * Read-only view of all tasks in the given order
+     */
+    public synchronized NavigableSet<Task> get(TaskSort sort) {
+        TreeSet<Task> view = views.get(sort);
+        if (view == null) {
+            view = new TreeSet<>(sort.getComparator());
+            view.addAll(source);
+            views.put(sort, view);
+        }
+        return Collections.unmodifiableNavigableSet(view);
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        for (TreeSet<Task> view : views.values()) {
+            view.add(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        for (TreeSet<Task> view : views.values()) {
+            view.remove(task);
+        }
+    }
+
+    @Override
+    public void taskChanging(Task task) {
+        taskRemoved(task);
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        taskAdded(task);
+    }
+
+    @Override
+    public void tasksCleared() {
+        views.clear();
+    }
+}
@@ -0,0 +1,51 @@
+package com.vault.todo.repository;
+
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+
+import java.time.LocalDate;
+
+/**
+ * Task filters offered in the GUI
+ */
+public enum TaskFilter {
+    ALL("All Tasks"),
+    PENDING("Only Pending"),
+    COMPLETED("Only Completed"),
+    OVERDUE("Only Overdue"),
+    DUE_TODAY("Due Today");
+
+    private final String label;
+
+    TaskFilter(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Check a single task against this filter
+     */
+    public boolean matches(Task task, LocalDate today) {
+        switch (this) {
+            case PENDING:
+                return task.getStatus() == Status.PENDING;
+            case COMPLETED:
+                return task.getStatus() == Status.COMPLETED;
+            case OVERDUE:
+                return task.getStatus() == Status.PENDING && task.getDueEpochDay() != Task.NO_DUE_DATE
+                        && task.getDueEpochDay() < today.toEpochDay();
+            case DUE_TODAY:
+                return task.getDueEpochDay() != Task.NO_DUE_DATE && task.getDueEpochDay() == today.toEpochDay();
+            default:
+                return true;
+        }
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
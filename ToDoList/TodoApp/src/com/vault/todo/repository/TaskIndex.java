@@ -0,0 +1,163 @@
+package com.vault.todo.repository;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Secondary indexes over the tasks of a repository
+ * Tasks are bucketed by status and priority, and kept in due-date maps for all tasks and for
+ * pending tasks only, so each query costs time proportional to the size of its result.
+ * The repository keeps the index current as tasks are added, edited and removed.
+ */
+public class TaskIndex implements TaskRepositoryListener {
+    private final Map<Status, Set<Task>> byStatus = new EnumMap<>(Status.class);
+    private final Map<Priority, Set<Task>> byPriority = new EnumMap<>(Priority.class);
+    private final NavigableMap<LocalDate, Set<Task>> byDueDate = new TreeMap<>();
+    private final NavigableMap<LocalDate, Set<Task>> pendingByDueDate = new TreeMap<>();
+
+    public TaskIndex() {
+        for (Status status : Status.values()) {
+            byStatus.put(status, new LinkedHashSet<>());
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Tasks with the given status
+     */
+    public List<Task> withStatus(Status status) {
+        return new ArrayList<>(byStatus.get(status));
+    }
+
+    public int countWithStatus(Status status) {
+        return byStatus.get(status).size();
+    }
+
+    /**
+     * Number of pending tasks due before the given day, one step per distinct due date
+     */
+    public int countOverdue(LocalDate today) {
+        int count = 0;
+        for (Set<Task> bucket : pendingByDueDate.headMap(today, false).values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    /**
+     * Tasks with the given priority
+     */
+    public List<Task> withPriority(Priority priority) {
+        return new ArrayList<>(byPriority.get(priority));
+    }
+
+    /**
+     * Tasks due on the given day, whatever their status
+     */
+    public List<Task> dueOn(LocalDate date) {
+        Set<Task> tasks = byDueDate.get(date);
+        return tasks != null ? new ArrayList<>(tasks) : new ArrayList<>();
+    }
+
+    /**
+     * Pending tasks due before the given day
+     */
+    public List<Task> overdue(LocalDate today) {
+        return flatten(pendingByDueDate.headMap(today, false).values());
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        insert(task);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        delete(task);
+    }
+
+    @Override
+    public void taskChanging(Task task) {
+        delete(task);
+    }
+
+    @Override
+    public void taskChanged(Task task) {
+        insert(task);
+    }
+
+    @Override
+    public void tasksCleared() {
+        for (Set<Task> bucket : byStatus.values()) {
+            bucket.clear();
+        }
+        for (Set<Task> bucket : byPriority.values()) {
+            bucket.clear();
+        }
+        byDueDate.clear();
+        pendingByDueDate.clear();
+    }
+
+    private void insert(Task task) {
+        if (task.getStatus() != null) {
+            byStatus.get(task.getStatus()).add(task);
+        }
+        if (task.getPriority() != null) {
+            byPriority.get(task.getPriority()).add(task);
+        }
+        if (task.getDueDate() != null) {
+            byDueDate.computeIfAbsent(task.getDueDate(), d -> new LinkedHashSet<>()).add(task);
+            if (task.getStatus() == Status.PENDING) {
+                pendingByDueDate.computeIfAbsent(task.getDueDate(), d -> new LinkedHashSet<>()).add(task);
+            }
+        }
+    }
+
+    private void delete(Task task) {
+        if (task.getStatus() != null) {
+            byStatus.get(task.getStatus()).remove(task);
+        }
+        if (task.getPriority() != null) {
+            byPriority.get(task.getPriority()).remove(task);
+        }
+        if (task.getDueDate() != null) {
+            removeFromDateMap(byDueDate, task);
+            if (task.getStatus() == Status.PENDING) {
+                removeFromDateMap(pendingByDueDate, task);
+            }
+        }
+    }
+
+    private static void removeFromDateMap(NavigableMap<LocalDate, Set<Task>> map, Task task) {
+        Set<Task> tasks = map.get(task.getDueDate());
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            map.remove(task.getDueDate());
+        }
+    }
+
+    private static List<Task> flatten(Collection<Set<Task>> buckets) {
+        int size = 0;
+        for (Set<Task> bucket : buckets) {
+            size += bucket.size();
+        }
+        List<Task> result = new ArrayList<>(size);
+        for (Set<Task> bucket : buckets) {
+            result.addAll(bucket);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,374 @@
+package com.vault.todo.repository;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import com.vault.todo.model.TaskChangeListener;
+import com.vault.todo.model.TaskTable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory store of all tasks, indexed by id
+ * Lookup and removal by id take constant time, iteration follows insertion order.
+ * Ids handed out by nextId() only ever grow, so a deleted id is never reused.
+ * Stored tasks report their edits back to the repository, which keeps its secondary
+ * index and any registered listeners up to date. The id of a stored task must not change.
+ * A read-write lock lets queries run on background threads: every change, including a
+ * setter called on a stored task, holds the write lock from taskChanging to taskChanged.
+ * Changes must not be made by a thread that is inside a query.
+ * The fields of stored tasks live in one TaskTable owned by the repository: storing a task
+ * moves it into the table and removing it moves it back out into a table of its own.
+ */
+public class TaskRepository {
+    private final Map<Integer, Task> tasks = new LinkedHashMap<>();
+    private final Collection<Task> view = Collections.unmodifiableCollection(tasks.values());
+    private final List<TaskRepositoryListener> listeners = new ArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+    private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+    private final TaskIndex index = new TaskIndex();
+    private final TaskStatistics statistics = new TaskStatistics(index, readLock);
+    private final SortedTaskViews sortedViews = new SortedTaskViews(view);
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex(view);
+    private final TaskChangeListener changeForwarder = new TaskChangeListener() {
+        @Override
+        public void taskChanging(Task task) {
+            writeLock.lock();
+            try {
+                for (TaskRepositoryListener listener : listeners) {
+                    listener.taskChanging(task);
+                }
+            } catch (RuntimeException e) {
+                writeLock.unlock();
+                throw e;
+            }
+        }
+
+        @Override
+        public void taskChanged(Task task) {
+            try {
+                for (TaskRepositoryListener listener : listeners) {
+                    listener.taskChanged(task);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    };
+    private TaskTable table = new TaskTable();
+    private int nextId = 1;
+
+    public TaskRepository() {
+        listeners.add(index);
+        listeners.add(statistics);
+        listeners.add(sortedViews);
+        listeners.add(searchIndex);
+    }
+
+    /**
+     * Register a listener, it is not told about tasks already stored
+     */
+    public void addListener(TaskRepositoryListener listener) {
+        writeLock.lock();
+        try {
+            listeners.add(listener);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeListener(TaskRepositoryListener listener) {
+        writeLock.lock();
+        try {
+            listeners.remove(listener);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Allocate a fresh id
+     */
+    public int nextId() {
+        writeLock.lock();
+        try {
+            return nextId++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Create a new task with a fresh id and add it
+     */
+    public Task create(String title, String description, Priority priority, LocalDate dueDate) {
+        writeLock.lock();
+        try {
+            Task task = table.add(nextId(), title, description, priority, dueDate,
+                    Status.PENDING, LocalDateTime.now(), null);
+            store(task);
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Add an existing task, such as one loaded from a file
+     * A task whose id is already taken is given a fresh id so no task is lost
+     */
+    public void add(Task task) {
+        writeLock.lock();
+        try {
+            if (tasks.containsKey(task.getId())) {
+                task.setChangeListener(null);
+                task.setId(nextId());
+            } else if (task.getId() >= nextId) {
+                nextId = task.getId() + 1;
+            }
+            store(task);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Add every task in order
+     */
+    public void addAll(Collection<Task> newTasks) {
+        writeLock.lock();
+        try {
+            for (Task task : newTasks) {
+                add(task);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replace all tasks, ids already handed out are still not reused
+     */
+    public void replaceAll(Collection<Task> newTasks) {
+        writeLock.lock();
+        try {
+            List<Task> replacement = new ArrayList<>(newTasks);
+            for (Task task : tasks.values()) {
+                task.setChangeListener(null);
+            }
+            tasks.clear();
+            // Tasks dropped here keep their rows in the old table, which goes once none is left
+            table = new TaskTable(replacement.size());
+            for (TaskRepositoryListener listener : listeners) {
+                listener.tasksCleared();
+            }
+            addAll(replacement);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Get a task by id, or null if there is none
+     */
+    public Task get(int id) {
+        readLock.lock();
+        try {
+            return tasks.get(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public boolean contains(int id) {
+        readLock.lock();
+        try {
+            return tasks.containsKey(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Remove a task by id, returning it or null if there was none
+     */
+    public Task remove(int id) {
+        writeLock.lock();
+        try {
+            Task task = tasks.remove(id);
+            if (task != null) {
+                task.setChangeListener(null);
+                for (TaskRepositoryListener listener : listeners) {
+                    listener.taskRemoved(task);
+                }
+                task.detach();
+            }
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Read-only live view of all tasks in display order
+     */
+    public Collection<Task> getTasks() {
+        return view;
+    }
+
+    /**
+     * Tasks matching a filter, answered from the index except for ALL
+     */
+    public List<Task> find(TaskFilter filter, LocalDate today) {
+        readLock.lock();
+        try {
+            switch (filter) {
+                case PENDING:
+                    return index.withStatus(Status.PENDING);
+                case COMPLETED:
+                    return index.withStatus(Status.COMPLETED);
+                case OVERDUE:
+                    return index.overdue(today);
+                case DUE_TODAY:
+                    return index.dueOn(today);
+                default:
+                    return new ArrayList<>(tasks.values());
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Tasks matching a filter in the given order, without re-sorting every task
+     * Small results are sorted directly, large ones are picked out of the maintained sorted view
+     * Safe to call from a background thread; an interrupted caller gets a CancellationException
+     */
+    public List<Task> find(TaskFilter filter, TaskSort sort, LocalDate today) {
+        readLock.lock();
+        try {
+            NavigableSet<Task> sorted = sortedViews.get(sort);
+            if (filter == TaskFilter.ALL) {
+                return new ArrayList<>(sorted);
+            }
+            List<Task> matches = find(filter, today);
+            if (matches.size() < tasks.size() / 8) {
+                matches.sort(sort.getComparator());
+                return matches;
+            }
+            List<Task> result = new ArrayList<>(matches.size());
+            int visited = 0;
+            for (Task task : sorted) {
+                if (filter.matches(task, today)) {
+                    result.add(task);
+                }
+                if ((++visited & 0xFFF) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Task query cancelled");
+                }
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Tasks matching a filter and containing every word of a search query, in the given order
+     * Words match by prefix against titles and descriptions; a blank query matches every task
+     * Safe to call from a background thread; an interrupted caller gets a CancellationException
+     */
+    public List<Task> find(TaskFilter filter, TaskSort sort, String query, LocalDate today) {
+        if (TaskSearchIndex.tokenize(query).isEmpty()) {
+            return find(filter, sort, today);
+        }
+        readLock.lock();
+        try {
+            List<Task> result = new ArrayList<>();
+            int visited = 0;
+            for (Task task : searchIndex.search(query)) {
+                if (filter.matches(task, today)) {
+                    result.add(task);
+                }
+                if ((++visited & 0xFFF) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Task query cancelled");
+                }
+            }
+            result.sort(sort.getComparator());
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public TaskIndex getIndex() {
+        return index;
+    }
+
+    public TaskStatistics getStatistics() {
+        return statistics;
+    }
+
+    public int size() {
+        readLock.lock();
+        try {
+            return tasks.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        readLock.lock();
+        try {
+            return tasks.isEmpty();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Run an action holding the read lock, so everything it reads comes from one state
+     */
+    public <T> T read(Supplier<T> action) {
+        readLock.lock();
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Run an action holding the write lock, so its changes are seen by other threads as one step
+     * The lock is reentrant: repository methods and setters on stored tasks may be called inside
+     */
+    public <T> T write(Supplier<T> action) {
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void store(Task task) {
+        task.moveTo(table);
+        tasks.put(task.getId(), task);
+        task.setChangeListener(changeForwarder);
+        for (TaskRepositoryListener listener : listeners) {
+            listener.taskAdded(task);
+        }
+    }
+}
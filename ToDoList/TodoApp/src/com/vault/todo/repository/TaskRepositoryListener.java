@@ -0,0 +1,22 @@
+package com.vault.todo.repository;
+
+import com.vault.todo.model.Task;
+
+/**
+ * Notified of every change to the tasks held by a TaskRepository
+ * Edits arrive as taskChanging with the old field values followed by taskChanged with the new ones.
+ */
+public interface TaskRepositoryListener {
+    void taskAdded(Task task);
+
+    void taskRemoved(Task task);
+
+    void taskChanging(Task task);
+
+    void taskChanged(Task task);
+
+    /**
+     * All tasks were removed at once, before a replacement
+     */
+    void tasksCleared();
+}
@@ -0,0 +1,165 @@
+package com.vault.todo.repository;
+
+import com.vault.todo.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Inverted index from words in task titles and descriptions to the tasks containing them
+ * Words are runs of letters and digits, compared in lower case. Every query word matches
+ * as a prefix and a task must match all of them, so "rep fin" finds "Finish the report".
+ * The index is built on the first search and kept up to date incrementally after that.
+ * An interrupted search gets a CancellationException, a build it cut short is started over.
+ */
+public class TaskSearchIndex implements TaskRepositoryListener {
+    private final Collection<Task> source;
+    private final TreeMap<String, Set<Task>> postings = new TreeMap<>();
+    private boolean built;
+
+    public TaskSearchIndex(Collection<Task> source) {
+        this.source = source;
+    }
+
+    /**
+     * Tasks matching every word of the query, in no particular order
+     */
+    public synchronized List<Task> search(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new ArrayList<>(source);
+        }
+        if (!built) {
+            int inserted = 0;
+            for (Task task : source) {
+                insert(task);
+                if ((++inserted & 0xFFF) == 0 && Thread.currentThread().isInterrupted()) {
+                    // Changes are not tracked until the build completes, so drop the partial postings
+                    postings.clear();
+                    throw new CancellationException("Task search cancelled");
+                }
+            }
+            built = true;
+        }
+
+        List<Set<Task>> matches = new ArrayList<>(words.size());
+        for (String word : words) {
+            Set<Task> tasks = prefixMatches(word);
+            if (tasks.isEmpty()) {
+                return new ArrayList<>();
+            }
+            matches.add(tasks);
+        }
+
+        // Intersect starting from the smallest set
+        matches.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        List<Task> result = new ArrayList<>();
+        for (Task task : matches.get(0)) {
+            boolean all = true;
+            for (int i = 1; i < matches.size() && all; i++) {
+                all = matches.get(i).contains(task);
+            }
+            if (all) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    private Set<Task> prefixMatches(String prefix) {
+        Map<String, Set<Task>> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.isEmpty()) {
+            return Collections.emptySet();
+        }
+        if (range.size() == 1) {
+            return range.values().iterator().next();
+        }
+        Set<Task> tasks = new HashSet<>();
+        for (Set<Task> posting : range.values()) {
+            tasks.addAll(posting);
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        if (built) {
+            insert(task);
+        }
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        if (built) {
+            delete(task);
+        }
+    }
+
+    @Override
+    public synchronized void taskChanging(Task task) {
+        taskRemoved(task);
+    }
+
+    @Override
+    public synchronized void taskChanged(Task task) {
+        taskAdded(task);
+    }
+
+    @Override
+    public synchronized void tasksCleared() {
+        postings.clear();
+        built = false;
+    }
+
+    private void insert(Task task) {
+        for (String word : words(task)) {
+            postings.computeIfAbsent(word, w -> new HashSet<>()).add(task);
+        }
+    }
+
+    private void delete(Task task) {
+        for (String word : words(task)) {
+            Set<Task> tasks = postings.get(word);
+            if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    private static Set<String> words(Task task) {
+        Set<String> words = new HashSet<>(tokenize(task.getTitle()));
+        words.addAll(tokenize(task.getDescription()));
+        return words;
+    }
+
+    /**
+     * Split text into lower-case words of letters and digits
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+}
@@ -0,0 +1,57 @@
+package com.vault.todo.repository;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Task;
+
+import java.util.Comparator;
+
+/**
+ * Sort orders offered in the GUI
+ * Every order breaks ties by id, so no two stored tasks compare as equal.
+ */
+public enum TaskSort {
+    BY_PRIORITY("By Priority", Comparator.comparing(Task::getPriority,
+            Comparator.nullsLast(Comparator.comparing(Priority::ordinal).reversed()))),
+    BY_DUE_DATE("By Due Date", TaskSort::compareDueDays),
+    BY_TITLE("By Title", Comparator.comparing(Task::getTitle,
+            Comparator.nullsLast(Comparator.naturalOrder())));
+
+    private final String label;
+    private final Comparator<Task> comparator;
+
+    TaskSort(String label, Comparator<Task> byKey) {
+        this.label = label;
+        this.comparator = byKey.thenComparingInt(Task::getId);
+    }
+
+    public Comparator<Task> getComparator() {
+        return comparator;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    /**
+     * Earlier due dates first and tasks without one last, compared as stored epoch days
+     */
+    private static int compareDueDays(Task a, Task b) {
+        int dayA = a.getDueEpochDay();
+        int dayB = b.getDueEpochDay();
+        if (dayA == dayB) {
+            return 0;
+        }
+        if (dayA == Task.NO_DUE_DATE) {
+            return 1;
+        }
+        if (dayB == Task.NO_DUE_DATE) {
+            return -1;
+        }
+        return Integer.compare(dayA, dayB);
+    }
+}
@@ -0,0 +1,105 @@
+package com.vault.todo.repository;
+
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Dashboard counters kept up to date as tasks change
+ * Total, pending and completed are adjusted on every event. The overdue count is adjusted
+ * against the day it was last computed for and recounted from the due-date index only
+ * when a different day is asked for, such as after midnight.
+ * Counters may be read from any thread.
+ */
+public class TaskStatistics implements TaskRepositoryListener {
+    private final TaskIndex index;
+    private final Lock indexReadLock;
+    private int total;
+    private int pending;
+    private int completed;
+    private int overdue;
+    private LocalDate overdueDay;
+
+    /**
+     * The read lock guards the index against writers while the overdue count is rebuilt
+     */
+    public TaskStatistics(TaskIndex index, Lock indexReadLock) {
+        this.index = index;
+        this.indexReadLock = indexReadLock;
+    }
+
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    public synchronized int getPending() {
+        return pending;
+    }
+
+    public synchronized int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Pending tasks due before the given day
+     */
+    public int getOverdue(LocalDate today) {
+        // Writers take their lock before this monitor, so readers must do the same
+        indexReadLock.lock();
+        try {
+            synchronized (this) {
+                if (!today.equals(overdueDay)) {
+                    overdue = index.countOverdue(today);
+                    overdueDay = today;
+                }
+                return overdue;
+            }
+        } finally {
+            indexReadLock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        total++;
+        count(task, 1);
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        total--;
+        count(task, -1);
+    }
+
+    @Override
+    public synchronized void taskChanging(Task task) {
+        count(task, -1);
+    }
+
+    @Override
+    public synchronized void taskChanged(Task task) {
+        count(task, 1);
+    }
+
+    @Override
+    public synchronized void tasksCleared() {
+        total = 0;
+        pending = 0;
+        completed = 0;
+        overdue = 0;
+    }
+
+    private void count(Task task, int delta) {
+        if (task.getStatus() == Status.PENDING) {
+            pending += delta;
+            if (overdueDay != null && task.getDueEpochDay() != Task.NO_DUE_DATE
+                    && task.getDueEpochDay() < overdueDay.toEpochDay()) {
+                overdue += delta;
+            }
+        } else if (task.getStatus() == Status.COMPLETED) {
+            completed += delta;
+        }
+    }
+}
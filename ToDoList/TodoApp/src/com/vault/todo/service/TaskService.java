@@ -0,0 +1,253 @@
+package com.vault.todo.service;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import com.vault.todo.model.TaskTable;
+import com.vault.todo.repository.TaskFilter;
+import com.vault.todo.repository.TaskRepository;
+import com.vault.todo.repository.TaskSort;
+import com.vault.todo.repository.TaskStatistics;
+import com.vault.todo.storage.IsoDateCodec;
+import com.vault.todo.storage.PersistenceService;
+import com.vault.todo.storage.SerializedTaskCache;
+import com.vault.todo.storage.StorageUtils;
+import com.vault.todo.storage.TaskJournal;
+
+import java.lang.ref.SoftReference;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Headless task engine: every operation the GUI offers, usable without Swing
+ * Each change is applied under the repository's write lock and queued for saving before the
+ * lock is released, so concurrent clients see it as one step and the journal receives changes
+ * in the order they were made. Queries and stats share the read lock and run in parallel.
+ * Every method may be called from any thread. Tasks returned by find() are the stored ones,
+ * shared with every other client: change them only through this service. Other methods
+ * return detached copies.
+ */
+public class TaskService {
+    private final TaskRepository repository;
+    private final PersistenceService persistence;
+
+    // Encoded JSON of exported tasks, so exporting again only encodes tasks changed since;
+    // softly held, it is dropped when memory runs low and rebuilt by the next export
+    private final Object exportLock = new Object();
+    private SoftReference<SerializedTaskCache> exportCache = new SoftReference<>(null);
+
+    /**
+     * Load every task from a journal and save changes back to it
+     */
+    public TaskService(TaskJournal journal) {
+        this(journal.load(), new PersistenceService(journal));
+    }
+
+    public TaskService(TaskRepository repository, PersistenceService persistence) {
+        this.repository = repository;
+        this.persistence = persistence;
+    }
+
+    /**
+     * Service over the default task store
+     */
+    public static TaskService open() {
+        return new TaskService(StorageUtils.openJournal());
+    }
+
+    /**
+     * Add a new task, the title must not be blank
+     */
+    public Task create(String title, String description, Priority priority, LocalDate dueDate) {
+        String checkedTitle = checkTitle(title);
+        String trimmedDescription = trim(description);
+        return repository.write(() -> {
+            Task task = repository.create(checkedTitle, trimmedDescription, priority, dueDate);
+            persistence.taskSaved(task);
+            return task.copy();
+        });
+    }
+
+    /**
+     * Replace the editable fields of a task, returning it or null if there is none
+     */
+    public Task update(int id, String title, String description, Priority priority, LocalDate dueDate) {
+        String checkedTitle = checkTitle(title);
+        String trimmedDescription = trim(description);
+        return repository.write(() -> {
+            Task task = repository.get(id);
+            if (task == null) {
+                return null;
+            }
+            task.setTitle(checkedTitle);
+            task.setDescription(trimmedDescription);
+            task.setPriority(priority);
+            task.setDueDate(dueDate);
+            persistence.taskSaved(task);
+            return task.copy();
+        });
+    }
+
+    /**
+     * Set the status of a task, returning it or null if there is none
+     */
+    public Task setStatus(int id, Status status) {
+        return repository.write(() -> {
+            Task task = repository.get(id);
+            if (task == null) {
+                return null;
+            }
+            if (task.getStatus() != status) {
+                task.setStatus(status);
+                persistence.taskSaved(task);
+            }
+            return task.copy();
+        });
+    }
+
+    /**
+     * Switch a task between pending and completed, returning it or null if there is none
+     */
+    public Task toggleStatus(int id) {
+        return repository.write(() -> {
+            Task task = repository.get(id);
+            if (task == null) {
+                return null;
+            }
+            task.setStatus(task.getStatus() == Status.COMPLETED ? Status.PENDING : Status.COMPLETED);
+            persistence.taskSaved(task);
+            return task.copy();
+        });
+    }
+
+    /**
+     * Delete a task, returning false if there was none
+     */
+    public boolean delete(int id) {
+        return repository.write(() -> {
+            if (repository.remove(id) == null) {
+                return false;
+            }
+            persistence.taskDeleted(id);
+            return true;
+        });
+    }
+
+    /**
+     * Replace every task with those in a JSON file, returning how many were loaded
+     * Ids handed out so far stay unused. Errors reading or parsing the file are thrown
+     * unchanged and leave the current tasks in place.
+     */
+    public int importTasks(String filePath) {
+        TaskRepository imported = StorageUtils.loadTasks(filePath);
+        return repository.write(() -> {
+            repository.replaceAll(imported.getTasks());
+            persistence.replaceAll(repository.getTasks());
+            return repository.size();
+        });
+    }
+
+    /**
+     * Write every task to a JSON file, returning how many were written
+     * The tasks are copied under the read lock and written after it is released, so the file
+     * holds one consistent state without holding up changes while it is written.
+     * Tasks unchanged since the previous export reuse their encoded bytes.
+     */
+    public int exportTasks(String filePath) {
+        List<Task> tasks = repository.read(() -> TaskTable.copyAll(repository.getTasks()));
+        synchronized (exportLock) {
+            SerializedTaskCache cache = exportCache.get();
+            if (cache == null) {
+                cache = new SerializedTaskCache();
+                exportCache = new SoftReference<>(cache);
+            }
+            StorageUtils.saveTasks(tasks, filePath, false, cache);
+        }
+        return tasks.size();
+    }
+
+    /**
+     * A copy of a task, or null if there is none
+     */
+    public Task get(int id) {
+        return repository.read(() -> {
+            Task task = repository.get(id);
+            return task != null ? task.copy() : null;
+        });
+    }
+
+    /**
+     * Tasks matching a filter and search query, in the given order
+     * A blank or null query matches every task. Safe to cancel by interrupting the caller.
+     */
+    public List<Task> find(TaskFilter filter, TaskSort sort, String query, LocalDate today) {
+        return repository.find(filter, sort, query != null ? query : "", today);
+    }
+
+    /**
+     * Counts of all, pending, completed and overdue tasks, consistent with each other
+     */
+    public TaskStats getStats(LocalDate today) {
+        return repository.read(() -> {
+            TaskStatistics statistics = repository.getStatistics();
+            return new TaskStats(statistics.getTotal(), statistics.getPending(),
+                    statistics.getCompleted(), statistics.getOverdue(today));
+        });
+    }
+
+    public int size() {
+        return repository.size();
+    }
+
+    /**
+     * Parse a due date typed as YYYY-MM-DD, null when the text is blank
+     */
+    public static LocalDate parseDueDate(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return IsoDateCodec.parseDate(text.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format! Use YYYY-MM-DD", e);
+        }
+    }
+
+    public void addStatusListener(PersistenceService.StatusListener listener) {
+        persistence.addStatusListener(listener);
+    }
+
+    /**
+     * Write every change made so far before returning
+     */
+    public void flush() {
+        persistence.flush();
+    }
+
+    /**
+     * Save pending changes and close the store, the service must not be used afterwards
+     */
+    public void close() {
+        persistence.shutdown();
+    }
+
+    /**
+     * Save and close when the JVM exits
+     */
+    public void registerShutdownHook() {
+        persistence.registerShutdownHook();
+    }
+
+    private static String checkTitle(String title) {
+        String trimmed = trim(title);
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("Title cannot be empty!");
+        }
+        return trimmed;
+    }
+
+    private static String trim(String text) {
+        return text != null ? text.trim() : "";
+    }
+}
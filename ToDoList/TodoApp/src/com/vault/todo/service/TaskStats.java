@@ -0,0 +1,40 @@
+package com.vault.todo.service;
+
+/**
+ * Dashboard counts taken together at one moment
+ */
+public class TaskStats {
+    private final int total;
+    private final int pending;
+    private final int completed;
+    private final int overdue;
+
+    public TaskStats(int total, int pending, int completed, int overdue) {
+        this.total = total;
+        this.pending = pending;
+        this.completed = completed;
+        this.overdue = overdue;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getOverdue() {
+        return overdue;
+    }
+
+    @Override
+    public String toString() {
+        return "Total: " + total + ", Pending: " + pending + ", Completed: " + completed
+                + ", Overdue: " + overdue;
+    }
+}
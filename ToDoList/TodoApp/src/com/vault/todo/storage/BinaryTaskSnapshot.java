@@ -0,0 +1,390 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.DescriptionLoader;
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import com.vault.todo.model.TaskTable;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Versioned binary snapshot of the task list
+ *
+ * Layout (big-endian):
+ *   header   magic, version, task count, record size, records offset, strings offset, strings length
+ *   records  one fixed-width record per task: id, priority, status, due epoch-day,
+ *            created/completed epoch-second + nanos, title and description string refs
+ *   strings  UTF-8 string table holding every title and description
+ *
+ * Snapshots are read with positional reads through two small buffers, one over the records and
+ * one over the string table, so any single task, title or description can be decoded on its own
+ * without reading the rest of the file. The file is not memory-mapped: a mapping stays alive
+ * until it is garbage collected, and Windows cannot replace a file while it is mapped.
+ */
+public class BinaryTaskSnapshot implements Closeable {
+    private static final int MAGIC = 0x5444534E; // "TDSN"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int RECORD_SIZE = 52;
+    // The same sentinels as TaskTable, so stored values are copied to and from its columns as they are
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NO_DATETIME = Long.MIN_VALUE;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private final RandomAccessFile file;
+    private final boolean ownsFile;
+    private final ReadWindow records;
+    private final ReadWindow strings;
+    private final int taskCount;
+    private final long recordsOffset;
+    private final long stringsOffset;
+
+    // Scratch buffer for string decoding, reused for every field
+    private byte[] scratch = new byte[256];
+    // Repeated titles and descriptions share one String instance
+    private final StringDeduplicator texts = new StringDeduplicator();
+
+    private BinaryTaskSnapshot(RandomAccessFile file, boolean ownsFile) throws IOException {
+        this.file = file;
+        this.ownsFile = ownsFile;
+        long length = file.length();
+        this.records = new ReadWindow(file, length);
+        this.strings = new ReadWindow(file, length);
+        if (length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a task snapshot file");
+        }
+        ByteBuffer header = records.buffer;
+        int at = records.fill(0, HEADER_SIZE);
+        if (header.getInt(at) != MAGIC) {
+            throw new IllegalArgumentException("Not a task snapshot file");
+        }
+        short version = header.getShort(at + 4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported task snapshot version " + version);
+        }
+        this.taskCount = header.getInt(at + 8);
+        int recordSize = header.getInt(at + 12);
+        long recordsStart = header.getLong(at + 16);
+        long stringsStart = header.getLong(at + 24);
+        long stringsLength = header.getLong(at + 32);
+        if (taskCount < 0 || recordSize != RECORD_SIZE || recordsStart < HEADER_SIZE
+                || recordsStart + (long) taskCount * RECORD_SIZE > stringsStart
+                || stringsLength < 0 || stringsStart + stringsLength > length) {
+            throw new IllegalArgumentException("Corrupt task snapshot header");
+        }
+        this.recordsOffset = recordsStart;
+        this.stringsOffset = stringsStart;
+    }
+
+    /**
+     * Open a snapshot file for reading, close the snapshot to release the file
+     */
+    public static BinaryTaskSnapshot open(Path file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r");
+        try {
+            return new BinaryTaskSnapshot(raf, true);
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read a snapshot from a file opened for reading, the file is left open
+     * Reads move the file pointer, so nothing else may read the file at the same time
+     */
+    public static BinaryTaskSnapshot open(RandomAccessFile file) throws IOException {
+        return new BinaryTaskSnapshot(file, false);
+    }
+
+    /**
+     * Number of tasks in the snapshot
+     */
+    public int size() {
+        return taskCount;
+    }
+
+    /**
+     * Decode every task in snapshot order
+     */
+    public void readTasks(Consumer<Task> sink) throws IOException {
+        TaskTable table = new TaskTable(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            int record = readRecord(i);
+            sink.accept(readTask(table, record,
+                    readString(records.buffer.getInt(record + 44), records.buffer.getInt(record + 48))));
+        }
+    }
+
+    /**
+     * Decode every task in snapshot order, leaving descriptions to be read later through a loader
+     * The loader is given absolute file offsets, so it must read this same snapshot file
+     */
+    public void readTasks(Consumer<Task> sink, DescriptionLoader descriptions) throws IOException {
+        ByteBuffer data = records.buffer;
+        TaskTable table = new TaskTable(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            int record = readRecord(i);
+            int offset = data.getInt(record + 44);
+            int length = data.getInt(record + 48);
+            Task task = readTask(table, record, length > 0 ? null : "");
+            if (length > 0) {
+                task.setLazyDescription(descriptions, stringsOffset + offset, length);
+            }
+            sink.accept(task);
+        }
+    }
+
+    /**
+     * Decode a single task by its position in the snapshot
+     */
+    public Task readTask(int index) throws IOException {
+        int record = readRecord(index);
+        return readTask(new TaskTable(1), record,
+                readString(records.buffer.getInt(record + 44), records.buffer.getInt(record + 48)));
+    }
+
+    /**
+     * Decode the task whose record is at the given position in the record buffer into a table row
+     * The stored epoch values are copied as they are, no date objects are created
+     */
+    private Task readTask(TaskTable table, int record, String description) throws IOException {
+        ByteBuffer data = records.buffer;
+        String title = readString(data.getInt(record + 36), data.getInt(record + 40));
+        return table.add(data.getInt(record), title, description,
+                PRIORITIES[data.get(record + 4)], STATUSES[data.get(record + 5)], data.getInt(record + 8),
+                data.getLong(record + 12), data.getInt(record + 20),
+                data.getLong(record + 24), data.getInt(record + 32));
+    }
+
+    /**
+     * Decode only the title of a task
+     */
+    public String readTitle(int index) throws IOException {
+        int record = readRecord(index);
+        return readString(records.buffer.getInt(record + 36), records.buffer.getInt(record + 40));
+    }
+
+    /**
+     * Decode only the description of a task
+     */
+    public String readDescription(int index) throws IOException {
+        int record = readRecord(index);
+        return readString(records.buffer.getInt(record + 44), records.buffer.getInt(record + 48));
+    }
+
+    /**
+     * Load the record of a task, returning its position in the record buffer
+     */
+    private int readRecord(int index) throws IOException {
+        if (index < 0 || index >= taskCount) {
+            throw new IndexOutOfBoundsException("Task index " + index + " of " + taskCount);
+        }
+        return records.fill(recordsOffset + (long) index * RECORD_SIZE, RECORD_SIZE);
+    }
+
+    private String readString(int offset, int length) throws IOException {
+        if (length == 0) {
+            return "";
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        long position = stringsOffset + offset;
+        if (length > READ_BUFFER_SIZE) {
+            // Too long for the buffer, read it straight into the scratch array
+            file.seek(position);
+            file.readFully(scratch, 0, length);
+        } else {
+            int at = strings.fill(position, length);
+            System.arraycopy(strings.buffer.array(), at, scratch, 0, length);
+        }
+        return texts.dedupUtf8(scratch, length);
+    }
+
+    /**
+     * Release the file, unless it was opened by the caller
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownsFile) {
+            file.close();
+        }
+    }
+
+    /**
+     * Write tasks as a binary snapshot into an empty channel
+     * Records and the string table are streamed to their final positions in a single pass
+     */
+    public static void write(Collection<Task> tasks, FileChannel channel) throws IOException {
+        int count = tasks.size();
+        long recordsOffset = HEADER_SIZE;
+        long stringsOffset = recordsOffset + (long) count * RECORD_SIZE;
+
+        SectionWriter records = new SectionWriter(channel, recordsOffset);
+        SectionWriter strings = new SectionWriter(channel, stringsOffset);
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        int written = 0;
+        for (Task task : tasks) {
+            if (written++ == count) {
+                throw new IllegalStateException("Task list changed while writing snapshot");
+            }
+            long titleOffset = strings.position() - stringsOffset;
+            int titleLength = strings.writeString(task.getTitle(), encoder);
+            long descriptionOffset = strings.position() - stringsOffset;
+            int descriptionLength = strings.writeString(task.getDescription(), encoder);
+            if (strings.position() - stringsOffset > Integer.MAX_VALUE) {
+                throw new IOException("Task snapshot string table exceeds 2 GB");
+            }
+
+            ByteBuffer record = records.reserve(RECORD_SIZE);
+            record.putInt(task.getId());
+            record.put((byte) (task.getPriority() != null ? task.getPriority() : Priority.LOW).ordinal());
+            record.put((byte) (task.getStatus() != null ? task.getStatus() : Status.PENDING).ordinal());
+            record.putShort((short) 0);
+            record.putInt(task.getDueEpochDay() == Task.NO_DUE_DATE ? NO_DATE : task.getDueEpochDay());
+            putDateTime(record, task.getCreatedAt());
+            putDateTime(record, task.getCompletedAt());
+            record.putInt((int) titleOffset);
+            record.putInt(titleLength);
+            record.putInt((int) descriptionOffset);
+            record.putInt(descriptionLength);
+        }
+        if (written != count) {
+            throw new IllegalStateException("Task list changed while writing snapshot");
+        }
+        records.flush();
+        strings.flush();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) 0);
+        header.putInt(count);
+        header.putInt(RECORD_SIZE);
+        header.putLong(recordsOffset);
+        header.putLong(stringsOffset);
+        header.putLong(strings.position() - stringsOffset);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private static void putDateTime(ByteBuffer record, LocalDateTime value) {
+        if (value == null) {
+            record.putLong(NO_DATETIME);
+            record.putInt(0);
+        } else {
+            record.putLong(value.toEpochSecond(ZoneOffset.UTC));
+            record.putInt(value.getNano());
+        }
+    }
+
+    /**
+     * Buffered writer for one section of the file, flushed at absolute positions
+     */
+    private static class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private long flushedPosition;
+
+        SectionWriter(FileChannel channel, long start) {
+            this.channel = channel;
+            this.flushedPosition = start;
+        }
+
+        long position() {
+            return flushedPosition + buffer.position();
+        }
+
+        ByteBuffer reserve(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        int writeString(String str, CharsetEncoder encoder) throws IOException {
+            if (str == null || str.isEmpty()) {
+                return 0;
+            }
+            long start = position();
+            CharBuffer in = CharBuffer.wrap(str);
+            encoder.reset();
+            CoderResult result = encoder.encode(in, buffer, true);
+            while (result.isOverflow()) {
+                flush();
+                result = encoder.encode(in, buffer, true);
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                flush();
+            }
+            return (int) (position() - start);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushedPosition += channel.write(buffer, flushedPosition);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Buffer over one part of the file, refilled with a positional read when a request falls outside it
+     */
+    private static class ReadWindow {
+        private final RandomAccessFile file;
+        private final long fileLength;
+        final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private long start;
+
+        ReadWindow(RandomAccessFile file, long fileLength) {
+            this.file = file;
+            this.fileLength = fileLength;
+            buffer.limit(0);
+        }
+
+        /**
+         * Make length bytes at a file position available, returning their position in the buffer
+         */
+        int fill(long position, int length) throws IOException {
+            if (position < start || position + length > start + buffer.limit()) {
+                int count = (int) Math.min(buffer.capacity(), fileLength - position);
+                if (count < length) {
+                    throw new EOFException("Task snapshot ends inside a record");
+                }
+                file.seek(position);
+                file.readFully(buffer.array(), 0, count);
+                buffer.limit(count);
+                start = position;
+            }
+            return (int) (position - start);
+        }
+    }
+}
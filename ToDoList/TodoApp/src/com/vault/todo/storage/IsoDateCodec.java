@@ -0,0 +1,187 @@
+package com.vault.todo.storage;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Fast ISO-8601 codec for the dates stored in task files
+ * The layouts saveTasks writes, yyyy-MM-dd and yyyy-MM-ddTHH:mm[:ss[.fraction]], are parsed
+ * straight from a char range and formatted straight into a byte buffer, without going
+ * through DateTimeFormatter or building intermediate strings. Anything else, such as
+ * signed or five-digit years, falls back to the ISO formatters so results never differ.
+ */
+public class IsoDateCodec {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    /**
+     * Longest output of formatDateTime: yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+     */
+    static final int MAX_DATETIME_LENGTH = 29;
+
+    /**
+     * Parse an ISO date, throwing DateTimeParseException like LocalDate.parse if it is invalid
+     */
+    public static LocalDate parseDate(String text) {
+        LocalDate date = text.length() == 10 ? parseDate(text.toCharArray(), 0, 10) : null;
+        return date != null ? date : LocalDate.parse(text, DATE_FORMATTER);
+    }
+
+    /**
+     * Parse an ISO date-time, throwing DateTimeParseException like LocalDateTime.parse if it is invalid
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        int length = text.length();
+        LocalDateTime dateTime = length >= 16 && length <= MAX_DATETIME_LENGTH
+                ? parseDateTime(text.toCharArray(), 0, length) : null;
+        return dateTime != null ? dateTime : LocalDateTime.parse(text, DATETIME_FORMATTER);
+    }
+
+    /**
+     * Parse a plain yyyy-MM-dd date from a char range
+     * Returns null if the text has any other layout or is not a valid date; callers then use
+     * the String form, which falls back to the formatter and reports the error
+     */
+    public static LocalDate parseDate(char[] chars, int offset, int length) {
+        if (length != 10 || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            return null;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse a plain yyyy-MM-ddTHH:mm[:ss[.fraction]] date-time from a char range
+     * Returns null if the text has any other layout or is not a valid date-time
+     */
+    public static LocalDateTime parseDateTime(char[] chars, int offset, int length) {
+        if (length < 16 || length > MAX_DATETIME_LENGTH || chars[offset + 10] != 'T'
+                || chars[offset + 13] != ':') {
+            return null;
+        }
+        LocalDate date = parseDate(chars, offset, 10);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        if (date == null || hour < 0 || minute < 0) {
+            return null;
+        }
+
+        int second = 0;
+        int nanos = 0;
+        if (length > 16) {
+            if (length < 19 || chars[offset + 16] != ':') {
+                return null;
+            }
+            second = digits(chars, offset + 17, 2);
+            if (second < 0) {
+                return null;
+            }
+            if (length > 19) {
+                // A fraction of one to nine digits, scaled up to nanoseconds
+                int fractionDigits = length - 20;
+                if (chars[offset + 19] != '.' || fractionDigits == 0) {
+                    return null;
+                }
+                nanos = digits(chars, offset + 20, fractionDigits);
+                if (nanos < 0) {
+                    return null;
+                }
+                for (int i = fractionDigits; i < 9; i++) {
+                    nanos *= 10;
+                }
+            }
+        }
+        try {
+            return LocalDateTime.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth(),
+                    hour, minute, second, nanos);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write a date as yyyy-MM-dd into a buffer with at least 10 bytes free
+     * Returns the offset after the date, or -1 if the year needs the formatter's signed layout
+     */
+    public static int formatDate(LocalDate date, byte[] buffer, int offset) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        putDigits(buffer, offset, year, 4);
+        buffer[offset + 4] = '-';
+        putDigits(buffer, offset + 5, date.getMonthValue(), 2);
+        buffer[offset + 7] = '-';
+        putDigits(buffer, offset + 8, date.getDayOfMonth(), 2);
+        return offset + 10;
+    }
+
+    /**
+     * Write a date-time exactly as ISO_LOCAL_DATE_TIME formats it into a buffer with at least
+     * MAX_DATETIME_LENGTH bytes free: seconds always, and a fraction only when there are
+     * nanoseconds, without trailing zeros
+     * Returns the offset after the date-time, or -1 if the year needs the formatter
+     */
+    public static int formatDateTime(LocalDateTime dateTime, byte[] buffer, int offset) {
+        int p = formatDate(dateTime.toLocalDate(), buffer, offset);
+        if (p < 0) {
+            return -1;
+        }
+        buffer[p] = 'T';
+        putDigits(buffer, p + 1, dateTime.getHour(), 2);
+        buffer[p + 3] = ':';
+        putDigits(buffer, p + 4, dateTime.getMinute(), 2);
+        buffer[p + 6] = ':';
+        putDigits(buffer, p + 7, dateTime.getSecond(), 2);
+        p += 9;
+
+        int nanos = dateTime.getNano();
+        if (nanos != 0) {
+            int digits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            buffer[p] = '.';
+            putDigits(buffer, p + 1, nanos, digits);
+            p += 1 + digits;
+        }
+        return p;
+    }
+
+    /**
+     * Value of count decimal digits, or -1 if any of them is not a digit
+     */
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Write a value as exactly count digits, zero-padded on the left
+     */
+    private static void putDigits(byte[] buffer, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
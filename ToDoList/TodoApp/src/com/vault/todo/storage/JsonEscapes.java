@@ -0,0 +1,79 @@
+package com.vault.todo.storage;
+
+/**
+ * JSON string escaping shared by the task reader and writer
+ * Covers every JSON escape: \" \\ \/ \b \f \n \r \t and \\uXXXX, with other control
+ * characters written as \\u00XX. The reader and writer apply these tables while streaming,
+ * so each string is escaped or unescaped in a single pass.
+ */
+public class JsonEscapes {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // For each ASCII char: the letter of its short escape, 'u' for a \\u00XX escape, or 0 if written as is
+    private static final char[] ESCAPES = new char[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+    }
+
+    /**
+     * Escape letter for a char, 'u' if it needs a \\u00XX escape, or 0 if it is written as is
+     */
+    static char escapeFor(char c) {
+        return c < 0x80 ? ESCAPES[c] : 0;
+    }
+
+    /**
+     * Lower-case hex digit for the low four bits of a value
+     */
+    static char hexDigit(int value) {
+        return HEX_DIGITS[value & 0xF];
+    }
+
+    /**
+     * Value of a hex digit, or -1 if the char is not one
+     */
+    static int hexValue(int c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Char a short escape letter stands for, or -1 if it is not one; \\u escapes are handled by the caller
+     */
+    static int unescapeFor(int letter) {
+        switch (letter) {
+            case '"':
+            case '\\':
+            case '/':
+                return letter;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            default:
+                return -1;
+        }
+    }
+}
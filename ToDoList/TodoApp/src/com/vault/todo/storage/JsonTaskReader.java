@@ -0,0 +1,733 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import com.vault.todo.model.TaskTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Streaming JSON reader for task files
+ * Reads UTF-8 bytes once and builds Task objects directly, without regex or substrings
+ * Supports both array format [{...}, {...}] and object format {"tasks": [...]}
+ */
+public class JsonTaskReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Field names are matched against the decoded key in place, without building a String
+    private static final int FIELD_UNKNOWN = -1;
+    private static final int FIELD_ID = 0;
+    private static final int FIELD_TITLE = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final int FIELD_PRIORITY = 3;
+    private static final int FIELD_STATUS = 4;
+    private static final int FIELD_DUE_DATE = 5;
+    private static final int FIELD_CREATED_AT = 6;
+    private static final int FIELD_COMPLETED_AT = 7;
+    private static final char[][] FIELD_NAMES = {
+            "id".toCharArray(),
+            "title".toCharArray(),
+            "description".toCharArray(),
+            "priority".toCharArray(),
+            "status".toCharArray(),
+            "dueDate".toCharArray(),
+            "createdAt".toCharArray(),
+            "completedAt".toCharArray()
+    };
+    private static final char[] TASKS_KEY = "tasks".toCharArray();
+
+    private static final String INVALID_STRUCTURE =
+            "Invalid JSON structure. Expected array format [{...}, {...}] or object format {\"tasks\": [...]}";
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private long consumed;
+
+    // Scratch buffer for decoded string values, reused for every field
+    private char[] chars = new char[256];
+    private int charCount;
+
+    // Repeated titles and descriptions share one String instance
+    private final StringDeduplicator texts = new StringDeduplicator();
+
+    // Rows of every task read, so a large file fills a few column arrays instead of many objects
+    private final TaskTable table = new TaskTable();
+
+    public JsonTaskReader(InputStream in) {
+        this(in, 0);
+    }
+
+    /**
+     * Read a stream that starts at the given byte offset of a larger file
+     * Error messages then report positions in that file
+     */
+    JsonTaskReader(InputStream in, long offset) {
+        this.in = in;
+        this.consumed = offset;
+    }
+
+    /**
+     * Read every task in the document and hand it to the sink in file order
+     */
+    public void readTasks(Consumer<Task> sink) throws IOException {
+        skipByteOrderMark();
+        int c = nextNonWhitespace();
+        if (c == '[') {
+            readTaskArray(sink);
+        } else if (c == '{') {
+            if (!readTasksFromObject(sink)) {
+                throw new IllegalArgumentException(INVALID_STRUCTURE);
+            }
+        } else {
+            throw new IllegalArgumentException(INVALID_STRUCTURE);
+        }
+
+        if (nextNonWhitespace() != -1) {
+            throw syntaxError("unexpected content after end of document");
+        }
+    }
+
+    /**
+     * Replay journal records of the form "PUT {...}" and "DEL id", one per line
+     * Returns false if the log ends in a torn or unreadable record, which is dropped
+     */
+    boolean readJournal(Consumer<Task> puts, IntConsumer deletes) throws IOException {
+        while (true) {
+            int c = nextNonWhitespace();
+            if (c == -1) {
+                return true;
+            }
+            try {
+                int op2 = read();
+                int op3 = read();
+                if (c == 'P' && op2 == 'U' && op3 == 'T') {
+                    expect('{');
+                    Task task = readTask();
+                    expectRecordEnd();
+                    puts.accept(task);
+                } else if (c == 'D' && op2 == 'E' && op3 == 'L') {
+                    int id = readIntValue(nextNonWhitespace());
+                    expectRecordEnd();
+                    deletes.accept(id);
+                } else {
+                    throw syntaxError("unknown journal record");
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring damaged journal record: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A record only counts once its terminating newline has been written
+     */
+    private void expectRecordEnd() throws IOException {
+        if (read() != '\n') {
+            throw syntaxError("incomplete journal record");
+        }
+    }
+
+    /**
+     * Read an object of the form {"tasks": [...]}, skipping any other keys
+     * Returns false if no "tasks" array was found
+     */
+    private boolean readTasksFromObject(Consumer<Task> sink) throws IOException {
+        boolean found = false;
+        int c = nextNonWhitespace();
+        if (c == '}') {
+            return false;
+        }
+        while (true) {
+            if (c != '"') {
+                throw syntaxError("expected field name");
+            }
+            decodeString();
+            boolean tasksKey = scratchEquals(TASKS_KEY);
+            expect(':');
+            c = nextNonWhitespace();
+            if (tasksKey && c == '[') {
+                readTaskArray(sink);
+                found = true;
+            } else {
+                skipValue(c);
+            }
+
+            c = nextNonWhitespace();
+            if (c == '}') {
+                return found;
+            }
+            if (c != ',') {
+                throw syntaxError("expected ',' or '}'");
+            }
+            c = nextNonWhitespace();
+        }
+    }
+
+    /**
+     * Read the elements of a task array, the opening bracket has already been consumed
+     * Non-object elements are skipped, matching the lenient behaviour of the old parser
+     */
+    private void readTaskArray(Consumer<Task> sink) throws IOException {
+        int c = nextNonWhitespace();
+        while (c != ']') {
+            if (c == '{') {
+                sink.accept(readTask());
+            } else if (c == ',') {
+                // Tolerate empty elements and trailing commas
+                c = nextNonWhitespace();
+                continue;
+            } else {
+                skipValue(c);
+            }
+
+            c = nextNonWhitespace();
+            if (c == ',') {
+                c = nextNonWhitespace();
+            } else if (c != ']') {
+                throw syntaxError("expected ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Read a single task object, the opening brace has already been consumed
+     * Handles missing fields with defaults, converts lowercase priority, handles invalid dates gracefully
+     */
+    private Task readTask() throws IOException {
+        int id = 0;
+        String title = null;
+        String description = null;
+        String priorityStr = null;
+        String statusStr = null;
+        String dueDateStr = null;
+        String createdAtStr = null;
+        String completedAtStr = null;
+        // Dates in the usual layout are parsed straight from the scratch buffer
+        LocalDate dueDate = null;
+        LocalDateTime createdAt = null;
+        LocalDateTime completedAt = null;
+
+        int c = nextNonWhitespace();
+        while (c != '}') {
+            if (c != '"') {
+                throw syntaxError("expected field name");
+            }
+            int field = readFieldKey();
+            expect(':');
+            c = nextNonWhitespace();
+
+            switch (field) {
+                case FIELD_ID:
+                    id = readIntValue(c);
+                    break;
+                case FIELD_TITLE:
+                    title = readTextValue(c);
+                    break;
+                case FIELD_DESCRIPTION:
+                    description = readTextValue(c);
+                    break;
+                case FIELD_PRIORITY:
+                    priorityStr = readStringValue(c);
+                    break;
+                case FIELD_STATUS:
+                    statusStr = readStringValue(c);
+                    break;
+                case FIELD_DUE_DATE:
+                    dueDate = readDateValue(c);
+                    dueDateStr = dueDate == null ? scratchValue(c) : null;
+                    break;
+                case FIELD_CREATED_AT:
+                    createdAt = readDateTimeValue(c);
+                    createdAtStr = createdAt == null ? scratchValue(c) : null;
+                    break;
+                case FIELD_COMPLETED_AT:
+                    completedAt = readDateTimeValue(c);
+                    completedAtStr = completedAt == null ? scratchValue(c) : null;
+                    break;
+                default:
+                    skipValue(c);
+                    break;
+            }
+
+            c = nextNonWhitespace();
+            if (c == ',') {
+                c = nextNonWhitespace();
+            } else if (c != '}') {
+                throw syntaxError("expected ',' or '}'");
+            }
+        }
+
+        return buildTask(id, title, description, priorityStr, statusStr, dueDate, dueDateStr,
+                createdAt, createdAtStr, completedAt, completedAtStr);
+    }
+
+    /**
+     * Apply the same defaults as the original regex-based parser
+     * Each date is either already parsed or given as text to parse, report and default
+     */
+    private Task buildTask(int id, String title, String description, String priorityStr, String statusStr,
+                           LocalDate dueDate, String dueDateStr, LocalDateTime createdAt,
+                           String createdAtStr, LocalDateTime completedAt, String completedAtStr) {
+        if (id <= 0) {
+            id = 1; // Default ID
+        }
+
+        if (title == null || title.isEmpty()) {
+            title = "Untitled Task"; // Default title
+        }
+
+        if (description == null) {
+            description = ""; // Default description
+        }
+
+        // Priority - convert lowercase to uppercase, default to LOW
+        Priority priority = Priority.LOW;
+        if (priorityStr != null && !priorityStr.isEmpty()) {
+            try {
+                priority = Priority.valueOf(priorityStr.toUpperCase().trim());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Invalid priority '" + priorityStr + "', using LOW as default");
+            }
+        }
+
+        // Status - default to PENDING
+        Status status = Status.PENDING;
+        if (statusStr != null && !statusStr.isEmpty()) {
+            try {
+                status = Status.valueOf(statusStr.toUpperCase().trim());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Invalid status '" + statusStr + "', using PENDING as default");
+            }
+        }
+
+        // Due Date - skip invalid dates
+        if (dueDate == null && dueDateStr != null && !dueDateStr.trim().isEmpty()) {
+            try {
+                dueDate = IsoDateCodec.parseDate(dueDateStr.trim());
+            } catch (DateTimeParseException e) {
+                System.err.println("Invalid dueDate '" + dueDateStr + "', skipping date for task: " + title);
+            }
+        }
+        if (dueDate != null && !TaskTable.canStore(dueDate)) {
+            System.err.println("Invalid dueDate '" + dueDate + "', skipping date for task: " + title);
+            dueDate = null;
+        }
+
+        // Created At - default to now if missing or invalid
+        if (createdAt == null && createdAtStr != null && !createdAtStr.trim().isEmpty()) {
+            try {
+                createdAt = IsoDateCodec.parseDateTime(createdAtStr.trim());
+            } catch (DateTimeParseException e) {
+                System.err.println("Invalid createdAt '" + createdAtStr + "', using current time for task: " + title);
+            }
+        }
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+
+        // Completed At - null if missing or invalid
+        if (completedAt == null && completedAtStr != null && !completedAtStr.trim().isEmpty()) {
+            try {
+                completedAt = IsoDateCodec.parseDateTime(completedAtStr.trim());
+            } catch (DateTimeParseException e) {
+                System.err.println("Invalid completedAt '" + completedAtStr + "', setting to null for task: " + title);
+            }
+        }
+
+        return table.add(id, title, description, priority, dueDate, status, createdAt, completedAt);
+    }
+
+    /**
+     * Read an integer field, non-numeric values are skipped and treated as missing
+     */
+    private int readIntValue(int c) throws IOException {
+        if (c != '-' && (c < '0' || c > '9')) {
+            skipValue(c);
+            return 0;
+        }
+
+        boolean negative = c == '-';
+        long value = negative ? 0 : c - '0';
+        boolean overflow = false;
+        while (true) {
+            c = peek();
+            if (c < '0' || c > '9') {
+                break;
+            }
+            pos++;
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                overflow = true;
+                value = Integer.MAX_VALUE;
+            }
+        }
+        // Ignore any fraction or exponent part
+        while (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-' || (c >= '0' && c <= '9')) {
+            pos++;
+            c = peek();
+        }
+
+        if (overflow) {
+            return 0;
+        }
+        return negative ? (int) -value : (int) value;
+    }
+
+    /**
+     * Read a string field, non-string values are skipped and treated as empty
+     */
+    private String readStringValue(int c) throws IOException {
+        if (c != '"') {
+            skipValue(c);
+            return "";
+        }
+        return readString();
+    }
+
+    /**
+     * Read a yyyy-MM-dd date without building a String, or null if the value needs the slow path
+     * On null the raw value is left in the scratch buffer for scratchValue
+     */
+    private LocalDate readDateValue(int c) throws IOException {
+        if (c != '"') {
+            skipValue(c);
+            charCount = 0;
+            return null;
+        }
+        decodeString();
+        return IsoDateCodec.parseDate(chars, 0, charCount);
+    }
+
+    /**
+     * Read an ISO date-time without building a String, or null if the value needs the slow path
+     * On null the raw value is left in the scratch buffer for scratchValue
+     */
+    private LocalDateTime readDateTimeValue(int c) throws IOException {
+        if (c != '"') {
+            skipValue(c);
+            charCount = 0;
+            return null;
+        }
+        decodeString();
+        return IsoDateCodec.parseDateTime(chars, 0, charCount);
+    }
+
+    /**
+     * The string value left in the scratch buffer by a date read that did not parse
+     * Non-string values read as empty, like readStringValue
+     */
+    private String scratchValue(int c) {
+        if (c != '"' || charCount == 0) {
+            return "";
+        }
+        return new String(chars, 0, charCount);
+    }
+
+    /**
+     * Read a title or description, repeated values come back as the same instance
+     */
+    private String readTextValue(int c) throws IOException {
+        if (c != '"') {
+            skipValue(c);
+            return "";
+        }
+        decodeString();
+        return texts.dedup(chars, charCount);
+    }
+
+    /**
+     * Decode a field name and map it to one of the known task fields
+     */
+    private int readFieldKey() throws IOException {
+        decodeString();
+        for (int field = 0; field < FIELD_NAMES.length; field++) {
+            if (scratchEquals(FIELD_NAMES[field])) {
+                return field;
+            }
+        }
+        return FIELD_UNKNOWN;
+    }
+
+    /**
+     * Compare the decoded scratch buffer against a known name
+     */
+    private boolean scratchEquals(char[] name) {
+        if (charCount != name.length) {
+            return false;
+        }
+        for (int i = 0; i < charCount; i++) {
+            if (chars[i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode a JSON string and return it as a new String
+     */
+    private String readString() throws IOException {
+        decodeString();
+        return new String(chars, 0, charCount);
+    }
+
+    /**
+     * Decode a JSON string into the scratch buffer, the opening quote has already been consumed
+     */
+    private void decodeString() throws IOException {
+        charCount = 0;
+        while (true) {
+            if (pos >= limit && !fill()) {
+                throw syntaxError("unterminated string");
+            }
+
+            // Fast path: plain ASCII runs are copied straight from the byte buffer
+            byte[] buf = buffer;
+            int p = pos;
+            int end = limit;
+            while (p < end) {
+                byte b = buf[p];
+                if (b < 0 || b == '"' || b == '\\') {
+                    break;
+                }
+                appendChar((char) b);
+                p++;
+            }
+            pos = p;
+            if (p == end) {
+                continue;
+            }
+
+            int b = buf[pos++];
+            if (b == '"') {
+                return;
+            } else if (b == '\\') {
+                readEscape();
+            } else {
+                readMultiByte(b);
+            }
+        }
+    }
+
+    /**
+     * Decode one JSON escape sequence, the backslash has already been consumed
+     * Malformed escapes are kept as written
+     */
+    private void readEscape() throws IOException {
+        int c = read();
+        if (c == -1) {
+            throw syntaxError("unterminated string");
+        }
+        if (c == 'u') {
+            readUnicodeEscape();
+            return;
+        }
+        int decoded = JsonEscapes.unescapeFor(c);
+        if (decoded >= 0) {
+            appendChar((char) decoded);
+        } else {
+            appendChar('\\');
+            pos--;
+        }
+    }
+
+    /**
+     * Decode the four hex digits of a \\uXXXX escape
+     * The raw text is appended as it is read and replaced by the decoded char once complete,
+     * so a malformed escape is left exactly as written
+     */
+    private void readUnicodeEscape() throws IOException {
+        int start = charCount;
+        appendChar('\\');
+        appendChar('u');
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int c = peek();
+            int digit = JsonEscapes.hexValue(c);
+            if (digit < 0) {
+                return;
+            }
+            pos++;
+            appendChar((char) c);
+            value = (value << 4) | digit;
+        }
+        charCount = start;
+        appendChar((char) value);
+    }
+
+    /**
+     * Decode a multi-byte UTF-8 sequence whose lead byte has already been consumed
+     */
+    private void readMultiByte(int lead) throws IOException {
+        lead &= 0xFF;
+        int extra;
+        int codePoint;
+        if ((lead & 0xE0) == 0xC0) {
+            extra = 1;
+            codePoint = lead & 0x1F;
+        } else if ((lead & 0xF0) == 0xE0) {
+            extra = 2;
+            codePoint = lead & 0x0F;
+        } else if ((lead & 0xF8) == 0xF0) {
+            extra = 3;
+            codePoint = lead & 0x07;
+        } else {
+            appendChar('\uFFFD');
+            return;
+        }
+
+        for (int i = 0; i < extra; i++) {
+            int next = peek();
+            if (next == -1 || (next & 0xC0) != 0x80) {
+                appendChar('\uFFFD');
+                return;
+            }
+            pos++;
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+
+        if (Character.isBmpCodePoint(codePoint)) {
+            appendChar((char) codePoint);
+        } else if (Character.isValidCodePoint(codePoint)) {
+            appendChar(Character.highSurrogate(codePoint));
+            appendChar(Character.lowSurrogate(codePoint));
+        } else {
+            appendChar('\uFFFD');
+        }
+    }
+
+    private void appendChar(char c) {
+        if (charCount == chars.length) {
+            char[] grown = new char[chars.length * 2];
+            System.arraycopy(chars, 0, grown, 0, charCount);
+            chars = grown;
+        }
+        chars[charCount++] = c;
+    }
+
+    /**
+     * Skip over any JSON value whose first character has already been consumed
+     */
+    private void skipValue(int c) throws IOException {
+        switch (c) {
+            case '"':
+                skipString();
+                break;
+            case '{':
+            case '[':
+                skipContainer();
+                break;
+            case -1:
+                throw syntaxError("unexpected end of input");
+            default:
+                // Literal or number: consume until a structural character
+                while (true) {
+                    int next = peek();
+                    if (next == -1 || next == ',' || next == '}' || next == ']' || isWhitespace(next)) {
+                        break;
+                    }
+                    pos++;
+                }
+                break;
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                c = read();
+            }
+            if (c == -1) {
+                throw syntaxError("unterminated string");
+            }
+        }
+    }
+
+    private void skipContainer() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c == -1) {
+                throw syntaxError("unexpected end of input");
+            }
+            if (c == '"') {
+                skipString();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextNonWhitespace() != expected) {
+            throw syntaxError("expected '" + expected + "'");
+        }
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (peek() == 0xEF) {
+            pos++;
+            if (read() != 0xBB || read() != 0xBF) {
+                throw new IllegalArgumentException(INVALID_STRUCTURE);
+            }
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+            if (!isWhitespace(c)) {
+                return c;
+            }
+        }
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int read() throws IOException {
+        if (pos >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (pos >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+
+    private IllegalArgumentException syntaxError(String message) {
+        return new IllegalArgumentException("Malformed JSON at byte " + (consumed + pos) + ": " + message);
+    }
+}
@@ -0,0 +1,312 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Streaming JSON writer for task files
+ * Encodes each task straight into a fixed UTF-8 byte buffer that is flushed as it fills,
+ * so memory use does not grow with the number of tasks
+ */
+public class JsonTaskWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private long flushes;
+
+    // Scratch buffer for date formatting, reused for every field
+    private final StringBuilder scratch = new StringBuilder(32);
+
+    public JsonTaskWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Write tasks as a pretty-printed JSON array: [{...}, {...}]
+     */
+    public void writeTasks(Iterable<Task> tasks) throws IOException {
+        writeTasks(tasks, null);
+    }
+
+    /**
+     * Write tasks as a pretty-printed JSON array, reusing cached bytes for unchanged tasks
+     */
+    public void writeTasks(Iterable<Task> tasks, SerializedTaskCache cache) throws IOException {
+        if (cache != null) {
+            cache.beginSave();
+        }
+        writeAscii("[\n");
+        Iterator<Task> it = tasks.iterator();
+        while (it.hasNext()) {
+            Task task = it.next();
+            if (cache != null) {
+                writeCachedTask(task, cache);
+            } else {
+                writeTask(task, true);
+            }
+            if (it.hasNext()) {
+                writeAscii(",");
+            }
+            writeAscii("\n");
+        }
+        writeAscii("]\n");
+        if (cache != null) {
+            cache.endSave();
+        }
+    }
+
+    /**
+     * Copy a task's cached bytes, or encode it and capture the bytes from the buffer
+     * Tasks too large to encode without an intermediate flush are simply not cached
+     */
+    private void writeCachedTask(Task task, SerializedTaskCache cache) throws IOException {
+        byte[] cached = cache.get(task);
+        if (cached != null) {
+            writeBytes(cached);
+            return;
+        }
+        if (count > buffer.length / 2) {
+            flushBuffer();
+        }
+        int start = count;
+        long flushesBefore = flushes;
+        writeTask(task, true);
+        if (flushes == flushesBefore) {
+            cache.put(task, Arrays.copyOfRange(buffer, start, count));
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - count) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    /**
+     * Write a single task object on one line, used for journal records
+     */
+    void writeCompactTask(Task task) throws IOException {
+        writeTask(task, false);
+    }
+
+    /**
+     * Write a single task object, pretty output keeps the layout saveTasks has always used
+     */
+    private void writeTask(Task task, boolean pretty) throws IOException {
+        writeAscii(pretty ? "  {" : "{");
+        writeKey("id", true, pretty);
+        writeInt(task.getId());
+        writeKey("title", false, pretty);
+        writeString(task.getTitle());
+        writeKey("description", false, pretty);
+        writeString(task.getDescription());
+        writeKey("priority", false, pretty);
+        writeString(task.getPriority() != null ? task.getPriority().name() : "LOW");
+        writeKey("dueDate", false, pretty);
+        writeDate(task.getDueDate());
+        writeKey("status", false, pretty);
+        writeString(task.getStatus() != null ? task.getStatus().name() : "PENDING");
+        writeKey("createdAt", false, pretty);
+        writeDateTime(task.getCreatedAt());
+        writeKey("completedAt", false, pretty);
+        writeDateTime(task.getCompletedAt());
+        writeAscii(pretty ? "\n  }" : "}");
+    }
+
+    private void writeKey(String name, boolean first, boolean pretty) throws IOException {
+        if (!first) {
+            writeByte(',');
+        }
+        if (pretty) {
+            writeAscii("\n    ");
+        }
+        writeByte('"');
+        writeAscii(name);
+        writeAscii(pretty ? "\": " : "\":");
+    }
+
+    private void writeString(String str) throws IOException {
+        writeByte('"');
+        writeEscaped(str);
+        writeByte('"');
+    }
+
+    /**
+     * Flush any buffered bytes to the underlying stream
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Write a quoted ISO date, encoded straight into the buffer in the usual case
+     */
+    private void writeDate(LocalDate date) throws IOException {
+        if (date == null) {
+            writeTemporal(null, DATE_FORMATTER);
+            return;
+        }
+        ensureCapacity(12);
+        int end = IsoDateCodec.formatDate(date, buffer, count + 1);
+        if (end < 0) {
+            writeTemporal(date, DATE_FORMATTER);
+            return;
+        }
+        buffer[count] = '"';
+        buffer[end] = '"';
+        count = end + 1;
+    }
+
+    /**
+     * Write a quoted ISO date-time, encoded straight into the buffer in the usual case
+     */
+    private void writeDateTime(LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            writeTemporal(null, DATETIME_FORMATTER);
+            return;
+        }
+        ensureCapacity(IsoDateCodec.MAX_DATETIME_LENGTH + 2);
+        int end = IsoDateCodec.formatDateTime(dateTime, buffer, count + 1);
+        if (end < 0) {
+            writeTemporal(dateTime, DATETIME_FORMATTER);
+            return;
+        }
+        buffer[count] = '"';
+        buffer[end] = '"';
+        count = end + 1;
+    }
+
+    /**
+     * Write a quoted value through its formatter, for years the fast layout cannot hold
+     */
+    private void writeTemporal(TemporalAccessor value, DateTimeFormatter formatter) throws IOException {
+        writeByte('"');
+        if (value != null) {
+            scratch.setLength(0);
+            formatter.formatTo(value, scratch);
+            for (int i = 0; i < scratch.length(); i++) {
+                writeByte(scratch.charAt(i));
+            }
+        }
+        writeByte('"');
+    }
+
+    void writeInt(int value) throws IOException {
+        if (value < 0) {
+            writeByte('-');
+            if (value == Integer.MIN_VALUE) {
+                writeAscii("2147483648");
+                return;
+            }
+            value = -value;
+        }
+        ensureCapacity(10);
+        int start = count;
+        do {
+            buffer[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Digits were written least significant first
+        for (int i = start, j = count - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    /**
+     * Escape special characters for JSON and encode as UTF-8 in one pass, straight into the buffer
+     */
+    private void writeEscaped(String str) throws IOException {
+        if (str == null) {
+            return;
+        }
+        int length = str.length();
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                char escape = JsonEscapes.escapeFor(c);
+                if (escape == 0) {
+                    writeByte(c);
+                } else if (escape == 'u') {
+                    ensureCapacity(6);
+                    buffer[count++] = '\\';
+                    buffer[count++] = 'u';
+                    buffer[count++] = '0';
+                    buffer[count++] = '0';
+                    buffer[count++] = (byte) JsonEscapes.hexDigit(c >> 4);
+                    buffer[count++] = (byte) JsonEscapes.hexDigit(c);
+                } else {
+                    ensureCapacity(2);
+                    buffer[count++] = '\\';
+                    buffer[count++] = (byte) escape;
+                }
+            } else if (c < 0x800) {
+                ensureCapacity(2);
+                buffer[count++] = (byte) (0xC0 | (c >> 6));
+                buffer[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(str.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                ensureCapacity(4);
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                writeByte('?'); // Unpaired surrogate, same as String.getBytes
+            } else {
+                ensureCapacity(3);
+                buffer[count++] = (byte) (0xE0 | (c >> 12));
+                buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    void writeAscii(String str) throws IOException {
+        for (int i = 0; i < str.length(); i++) {
+            writeByte(str.charAt(i));
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (count + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+            flushes++;
+        }
+    }
+}
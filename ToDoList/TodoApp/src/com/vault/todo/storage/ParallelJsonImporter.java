@@ -0,0 +1,402 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Task;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel import for very large JSON task files
+ * The top-level task array is cut at element boundaries into chunks of a few megabytes.
+ * Each chunk is read with a positional read and parsed on a ForkJoinPool with JsonTaskReader,
+ * and the results are merged back in file order. The file is not memory-mapped, so it is
+ * released as soon as the import returns and can be overwritten by a later export.
+ * Files are accepted and rejected exactly as JsonTaskReader would, whatever their size, and a
+ * rejected file reports the same first error.
+ */
+public class ParallelJsonImporter {
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int SCAN_WINDOW = 64 * 1024;
+    private static final byte[] OPEN_ARRAY = {'['};
+    private static final byte[] CLOSE_ARRAY = {']'};
+    private static final String INVALID_STRUCTURE =
+            "Invalid JSON structure. Expected array format [{...}, {...}] or object format {\"tasks\": [...]}";
+
+    private final ForkJoinPool pool;
+
+    public ParallelJsonImporter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Parse every task in the file, in file order
+     */
+    public List<Task> importTasks(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<Chunk> chunks = new ArrayList<>();
+            IllegalArgumentException structureError = null;
+            try {
+                splitDocument(new FileBytes(channel, channel.size()), chunks);
+            } catch (IllegalArgumentException e) {
+                structureError = e;
+            }
+
+            // Any error inside the chunks comes earlier in the file than one found after them
+            List<Task> tasks = parseChunks(channel, chunks);
+            if (structureError != null) {
+                throw structureError;
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Check the structure around the task arrays and cut the arrays into chunks
+     */
+    private static void splitDocument(FileBytes data, List<Chunk> chunks) throws IOException {
+        long pos = skipWhitespace(data, skipByteOrderMark(data));
+        int c = data.get(pos);
+        if (c == '[') {
+            pos = splitArray(data, pos + 1, chunks);
+        } else if (c == '{') {
+            pos = splitTasksFromObject(data, pos + 1, chunks);
+        } else {
+            throw new IllegalArgumentException(INVALID_STRUCTURE);
+        }
+
+        pos = skipWhitespace(data, pos);
+        if (pos < data.limit()) {
+            throw syntaxError(data, pos, "unexpected content after end of document");
+        }
+    }
+
+    /**
+     * Parse the chunks on the pool and merge their tasks in file order
+     * If chunks fail, the error from the earliest one is thrown
+     */
+    private List<Task> parseChunks(FileChannel channel, List<Chunk> chunks) throws IOException {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Task>[] results = new List[chunks.size()];
+        Exception[] errors = new Exception[chunks.size()];
+        if (!chunks.isEmpty()) {
+            pool.invoke(new ParseChunks(channel, chunks, results, errors, 0, chunks.size()));
+        }
+        for (Exception error : errors) {
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            } else if (error != null) {
+                throw (RuntimeException) error;
+            }
+        }
+
+        int total = 0;
+        for (List<Task> result : results) {
+            total += result.size();
+        }
+        List<Task> tasks = new ArrayList<>(total);
+        for (List<Task> result : results) {
+            tasks.addAll(result);
+        }
+        return tasks;
+    }
+
+    /**
+     * Split every "tasks" array of an object of the form {"tasks": [...]}, skipping other keys
+     * The opening brace has already been consumed; returns the position after the closing brace
+     */
+    private static long splitTasksFromObject(FileBytes data, long pos, List<Chunk> chunks) throws IOException {
+        boolean found = false;
+        pos = skipWhitespace(data, pos);
+        if (data.get(pos) == '}') {
+            throw new IllegalArgumentException(INVALID_STRUCTURE);
+        }
+        while (true) {
+            if (data.get(pos) != '"') {
+                throw syntaxError(data, pos, "expected field name");
+            }
+            long keyStart = pos + 1;
+            pos = skipString(data, keyStart);
+            boolean tasksKey = pos - keyStart - 1 == 5 && data.get(keyStart) == 't' && data.get(keyStart + 1) == 'a'
+                    && data.get(keyStart + 2) == 's' && data.get(keyStart + 3) == 'k' && data.get(keyStart + 4) == 's';
+            pos = skipWhitespace(data, pos);
+            if (data.get(pos) != ':') {
+                throw syntaxError(data, pos, "expected ':'");
+            }
+            pos = skipWhitespace(data, pos + 1);
+            if (tasksKey && data.get(pos) == '[') {
+                pos = splitArray(data, pos + 1, chunks);
+                found = true;
+            } else {
+                pos = skipValue(data, pos);
+            }
+
+            pos = skipWhitespace(data, pos);
+            int c = data.get(pos);
+            if (c == '}') {
+                if (!found) {
+                    throw new IllegalArgumentException(INVALID_STRUCTURE);
+                }
+                return pos + 1;
+            }
+            if (c != ',') {
+                throw syntaxError(data, pos, "expected ',' or '}'");
+            }
+            pos = skipWhitespace(data, pos + 1);
+        }
+    }
+
+    /**
+     * Cut the array body into chunks that end just before a top-level comma
+     * Returns the position after the closing ']', or the end of the file if the array is unterminated
+     */
+    private static long splitArray(FileBytes data, long arrayStart, List<Chunk> chunks) throws IOException {
+        byte[] window = new byte[SCAN_WINDOW];
+        int depth = 0;
+        boolean inString = false;
+        boolean escape = false;
+        long chunkStart = arrayStart;
+
+        long base = arrayStart;
+        while (base < data.limit()) {
+            int length = (int) Math.min(window.length, data.limit() - base);
+            readFully(data.channel, ByteBuffer.wrap(window, 0, length), base);
+            for (int i = 0; i < length; i++) {
+                byte b = window[i];
+                if (inString) {
+                    if (escape) {
+                        escape = false;
+                    } else if (b == '\\') {
+                        escape = true;
+                    } else if (b == '"') {
+                        inString = false;
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (depth == 0 && b == ']') {
+                    chunks.add(new Chunk(chunkStart, base + i, true));
+                    return base + i + 1;
+                } else if (depth > 0 && (b == '}' || b == ']')) {
+                    // A stray '}' at the top level is left for the chunk parse to accept or reject
+                    depth--;
+                } else if (b == ',' && depth == 0 && base + i - chunkStart >= CHUNK_SIZE) {
+                    chunks.add(new Chunk(chunkStart, base + i, true));
+                    chunkStart = base + i;
+                }
+            }
+            base += length;
+        }
+        // Leave the array open so the chunk parse reports the end of input as JsonTaskReader does
+        chunks.add(new Chunk(chunkStart, data.limit(), false));
+        return data.limit();
+    }
+
+    /**
+     * Byte range of one or more array elements
+     * The last chunk of an unterminated array is not closed when it is parsed
+     */
+    private static class Chunk {
+        final long start;
+        final long end;
+        final boolean closed;
+
+        Chunk(long start, long end, boolean closed) {
+            this.start = start;
+            this.end = end;
+            this.closed = closed;
+        }
+    }
+
+    /**
+     * Parse a range of chunks, splitting the range until it is a single chunk
+     */
+    private static class ParseChunks extends RecursiveAction {
+        private final FileChannel channel;
+        private final List<Chunk> chunks;
+        private final List<Task>[] results;
+        private final Exception[] errors;
+        private final int from;
+        private final int to;
+
+        ParseChunks(FileChannel channel, List<Chunk> chunks, List<Task>[] results, Exception[] errors,
+                    int from, int to) {
+            this.channel = channel;
+            this.chunks = chunks;
+            this.results = results;
+            this.errors = errors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ParseChunks(channel, chunks, results, errors, from, mid),
+                        new ParseChunks(channel, chunks, results, errors, mid, to));
+                return;
+            }
+
+            Chunk chunk = chunks.get(from);
+            List<Task> tasks = new ArrayList<>();
+            results[from] = tasks;
+            try {
+                // Chunks end at a comma once they pass CHUNK_SIZE, so only one huge element overflows this
+                byte[] bytes = new byte[Math.toIntExact(chunk.end - chunk.start)];
+                readFully(channel, ByteBuffer.wrap(bytes), chunk.start);
+
+                // A chunk holds elements such as "{...},{...}" or ",{...}", wrap it back into an array.
+                // The added '[' stands in for the byte before the chunk, so errors report file offsets
+                InputStream in = new SequenceInputStream(new ByteArrayInputStream(OPEN_ARRAY),
+                        new SequenceInputStream(new ByteArrayInputStream(bytes),
+                                new ByteArrayInputStream(chunk.closed ? CLOSE_ARRAY : new byte[0])));
+                new JsonTaskReader(in, chunk.start - 1).readTasks(tasks::add);
+            } catch (IOException | RuntimeException e) {
+                errors[from] = e;
+            }
+        }
+    }
+
+    /**
+     * Random byte access to the file through a small buffer, for scanning its structure
+     */
+    private static class FileBytes {
+        final FileChannel channel;
+        private final long limit;
+        private final ByteBuffer buffer = ByteBuffer.allocate(SCAN_WINDOW);
+        private long start;
+
+        FileBytes(FileChannel channel, long limit) {
+            this.channel = channel;
+            this.limit = limit;
+            buffer.limit(0);
+        }
+
+        long limit() {
+            return limit;
+        }
+
+        /**
+         * The unsigned byte at pos, or -1 past the end of the file
+         */
+        int get(long pos) throws IOException {
+            if (pos >= limit) {
+                return -1;
+            }
+            if (pos < start || pos >= start + buffer.limit()) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), limit - pos));
+                readFully(channel, buffer, pos);
+                start = pos;
+            }
+            return buffer.get((int) (pos - start)) & 0xFF;
+        }
+    }
+
+    /**
+     * Fill the buffer from a file position
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("File ended while importing tasks");
+            }
+        }
+    }
+
+    /**
+     * Report the offset just after the offending byte, as JsonTaskReader does
+     */
+    private static IllegalArgumentException syntaxError(FileBytes data, long pos, String message) {
+        return new IllegalArgumentException("Malformed JSON at byte " + Math.min(pos + 1, data.limit()) + ": " + message);
+    }
+
+    private static long skipByteOrderMark(FileBytes data) throws IOException {
+        if (data.get(0) == 0xEF) {
+            if (data.get(1) != 0xBB || data.get(2) != 0xBF) {
+                throw new IllegalArgumentException(INVALID_STRUCTURE);
+            }
+            return 3;
+        }
+        return 0;
+    }
+
+    private static long skipWhitespace(FileBytes data, long pos) throws IOException {
+        while (pos < data.limit()) {
+            int b = data.get(pos);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Return the position after the closing quote of a string whose body starts at pos
+     */
+    private static long skipString(FileBytes data, long pos) throws IOException {
+        while (pos < data.limit()) {
+            int b = data.get(pos++);
+            if (b == '\\') {
+                pos++;
+            } else if (b == '"') {
+                return pos;
+            }
+        }
+        throw syntaxError(data, data.limit(), "unterminated string");
+    }
+
+    /**
+     * Return the position after the value starting at pos
+     */
+    private static long skipValue(FileBytes data, long pos) throws IOException {
+        int b = data.get(pos);
+        if (b == -1) {
+            throw syntaxError(data, pos, "unexpected end of input");
+        }
+        if (b == '"') {
+            return skipString(data, pos + 1);
+        }
+        if (b != '{' && b != '[') {
+            // Literal or number: stop at a structural character
+            pos++;
+            while (true) {
+                b = data.get(pos);
+                if (b == -1 || b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                    return pos;
+                }
+                pos++;
+            }
+        }
+
+        int depth = 1;
+        pos++;
+        while (depth > 0) {
+            b = data.get(pos++);
+            if (b == -1) {
+                throw syntaxError(data, data.limit(), "unexpected end of input");
+            }
+            if (b == '"') {
+                pos = skipString(data, pos);
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            }
+        }
+        return pos;
+    }
+}
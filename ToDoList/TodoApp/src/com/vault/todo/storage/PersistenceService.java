@@ -0,0 +1,233 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Task;
+import com.vault.todo.model.TaskTable;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous persistence for the task journal
+ * Callers hand over detached copies of changed tasks and return immediately; a single
+ * writer thread appends them to the journal. Bursts of edits are coalesced so only
+ * the latest version of each task, or of a full replacement, is written. Each batch is
+ * forced to disk before it is reported as saved.
+ */
+public class PersistenceService {
+    private static final long COALESCE_DELAY_MS = 50;
+    private static final long RETRY_DELAY_MS = 2000;
+
+    /**
+     * Save state shown to the user
+     */
+    public enum State {
+        SAVED,
+        SAVING,
+        FAILED
+    }
+
+    /**
+     * Notified on the writer thread whenever the save state changes
+     */
+    public interface StatusListener {
+        void statusChanged(State state, String message);
+    }
+
+    private final TaskJournal journal;
+    private final ScheduledExecutorService writer;
+    private final List<StatusListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Pending work, guarded by this; a null value marks a deletion
+    private Map<Integer, Task> pendingChanges = new LinkedHashMap<>();
+    private List<Task> pendingReplacement;
+    private boolean drainScheduled;
+    private boolean shutdown;
+    private State state = State.SAVED;
+
+    // Held while a batch is taken and written, so flush() can wait for the writer
+    private final Object writeLock = new Object();
+
+    public PersistenceService(TaskJournal journal) {
+        this.journal = journal;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "task-persistence-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a new or edited task, a copy is taken so later edits do not race the writer
+     */
+    public void taskSaved(Task task) {
+        Task snapshot = task.copy();
+        synchronized (this) {
+            checkOpen();
+            pendingChanges.put(snapshot.getId(), snapshot);
+            scheduleDrain(COALESCE_DELAY_MS);
+        }
+    }
+
+    /**
+     * Queue the deletion of a task
+     */
+    public void taskDeleted(int id) {
+        synchronized (this) {
+            checkOpen();
+            pendingChanges.put(id, null);
+            scheduleDrain(COALESCE_DELAY_MS);
+        }
+    }
+
+    /**
+     * Queue a replacement of every stored task, superseding any changes still pending
+     */
+    public void replaceAll(Collection<Task> tasks) {
+        List<Task> snapshot = TaskTable.copyAll(tasks);
+        synchronized (this) {
+            checkOpen();
+            pendingReplacement = snapshot;
+            pendingChanges.clear();
+            scheduleDrain(COALESCE_DELAY_MS);
+        }
+    }
+
+    /**
+     * Write everything queued so far before returning
+     */
+    public void flush() {
+        while (true) {
+            drain();
+            synchronized (this) {
+                if (pendingReplacement == null && pendingChanges.isEmpty()) {
+                    return;
+                }
+                if (state == State.FAILED) {
+                    System.err.println("Unsaved task changes remain after flush");
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Flush pending changes, stop the writer thread and close the journal
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+        }
+        flush();
+        writer.shutdown();
+        journal.close();
+    }
+
+    /**
+     * Flush and close when the JVM exits, including after System.exit from the window
+     */
+    public void registerShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "task-persistence-shutdown"));
+    }
+
+    public void addStatusListener(StatusListener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void checkOpen() {
+        if (shutdown) {
+            throw new IllegalStateException("Persistence service has been shut down");
+        }
+    }
+
+    private void scheduleDrain(long delayMs) {
+        if (state != State.SAVING) {
+            setState(State.SAVING, "Saving...");
+        }
+        if (!drainScheduled && !writer.isShutdown()) {
+            drainScheduled = true;
+            writer.schedule(this::drain, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Take everything pending and write it, runs on the writer thread or from flush()
+     */
+    private void drain() {
+        synchronized (writeLock) {
+            List<Task> replacement;
+            Map<Integer, Task> changes;
+            synchronized (this) {
+                drainScheduled = false;
+                replacement = pendingReplacement;
+                changes = pendingChanges;
+                pendingReplacement = null;
+                pendingChanges = new LinkedHashMap<>();
+            }
+            if (replacement == null && changes.isEmpty()) {
+                return;
+            }
+
+            try {
+                if (replacement != null) {
+                    journal.rewrite(replacement);
+                    replacement = null;
+                }
+                for (Map.Entry<Integer, Task> change : changes.entrySet()) {
+                    if (change.getValue() == null) {
+                        journal.recordDelete(change.getKey());
+                    } else {
+                        journal.recordPut(change.getValue());
+                    }
+                }
+                journal.sync();
+                synchronized (this) {
+                    if (pendingReplacement == null && pendingChanges.isEmpty()) {
+                        setState(State.SAVED, "All changes saved");
+                    }
+                }
+            } catch (RuntimeException e) {
+                requeue(replacement, changes);
+                setState(State.FAILED, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Put a failed batch back in front of anything queued since, then retry later
+     * Re-applying records that did reach the journal is harmless
+     */
+    private synchronized void requeue(List<Task> replacement, Map<Integer, Task> changes) {
+        if (pendingReplacement == null) {
+            if (replacement != null) {
+                pendingReplacement = replacement;
+            }
+            Map<Integer, Task> merged = new LinkedHashMap<>(changes);
+            merged.putAll(pendingChanges);
+            pendingChanges = merged;
+        }
+        if (!shutdown && !drainScheduled) {
+            drainScheduled = true;
+            writer.schedule(this::drain, RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void setState(State newState, String message) {
+        state = newState;
+        for (StatusListener listener : listeners) {
+            listener.statusChanged(newState, message);
+        }
+    }
+}
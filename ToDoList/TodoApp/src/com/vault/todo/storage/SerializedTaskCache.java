@@ -0,0 +1,82 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Task;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Cache of the encoded JSON bytes of each task, keyed by id and validated by version
+ * A save re-encodes only tasks whose version changed since the previous save.
+ * Not thread-safe, callers serialize saves that share a cache.
+ */
+public class SerializedTaskCache {
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private int generation;
+    private int touched;
+
+    private static class Entry {
+        final long version;
+        final byte[] bytes;
+        int generation;
+
+        Entry(long version, byte[] bytes, int generation) {
+            this.version = version;
+            this.bytes = bytes;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Start a save, entries not used before endSave() are evicted
+     */
+    void beginSave() {
+        generation++;
+        touched = 0;
+    }
+
+    /**
+     * Cached bytes for the task, or null if it changed since it was last encoded
+     */
+    byte[] get(Task task) {
+        Entry entry = entries.get(task.getId());
+        if (entry == null || entry.version != task.getVersion()) {
+            return null;
+        }
+        if (entry.generation != generation) {
+            entry.generation = generation;
+            touched++;
+        }
+        return entry.bytes;
+    }
+
+    void put(Task task, byte[] bytes) {
+        Entry previous = entries.put(task.getId(), new Entry(task.getVersion(), bytes, generation));
+        if (previous == null || previous.generation != generation) {
+            touched++;
+        }
+    }
+
+    /**
+     * Drop entries for tasks that were not part of this save, such as deleted ones
+     */
+    void endSave() {
+        if (entries.size() == touched) {
+            return;
+        }
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().generation != generation) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Number of cached tasks
+     */
+    public int size() {
+        return entries.size();
+    }
+}
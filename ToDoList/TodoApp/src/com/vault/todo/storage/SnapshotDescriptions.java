@@ -0,0 +1,109 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.DescriptionLoader;
+import com.vault.todo.model.Task;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Descriptions read on demand from the string table of a binary snapshot
+ * The file stays open for positional reads. Before the journal replaces it, the descriptions move
+ * to a private copy of it, which keeps serving the snapshot they were opened on and is deleted
+ * on close. Recently decoded descriptions are kept in a
+ * small LRU cache, so repainting the visible rows does not go back to the file.
+ * Reads go through a RandomAccessFile, not a FileChannel: an interrupt during a channel read
+ * closes the channel for every thread, and descriptions are also read from background workers.
+ */
+public class SnapshotDescriptions implements DescriptionLoader, Closeable {
+    private final Map<Task, String> cache;
+    private RandomAccessFile file;
+    private Path path;
+    private boolean privateCopy;
+
+    private SnapshotDescriptions(RandomAccessFile file, Path path, int cacheSize) {
+        this.file = file;
+        this.path = path;
+        this.cache = new LinkedHashMap<Task, String>(cacheSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Task, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Open a snapshot file, keeping up to cacheSize decoded descriptions
+     */
+    public static SnapshotDescriptions open(Path file, int cacheSize) throws IOException {
+        return new SnapshotDescriptions(new RandomAccessFile(file.toFile(), "r"), file, cacheSize);
+    }
+
+    /**
+     * The open snapshot file, so its tasks can be read from exactly the file served here
+     */
+    synchronized RandomAccessFile file() {
+        return file;
+    }
+
+    /**
+     * Serve descriptions from a ".desc" copy next to the file from now on and close the original
+     * Windows cannot replace a file that is still open. Does nothing once already on a copy.
+     */
+    synchronized void moveToCopy() throws IOException {
+        if (privateCopy) {
+            return;
+        }
+        Path copy = Files.createTempFile(path.getParent(), path.getFileName() + ".", ".desc");
+        RandomAccessFile moved;
+        try {
+            Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+            moved = new RandomAccessFile(copy.toFile(), "r");
+        } catch (IOException e) {
+            Files.deleteIfExists(copy);
+            throw e;
+        }
+        file.close();
+        file = moved;
+        path = copy;
+        privateCopy = true;
+    }
+
+    @Override
+    public synchronized String loadDescription(Task task, long offset, int length) {
+        String description = cache.get(task);
+        if (description == null) {
+            description = read(offset, length);
+            cache.put(task, description);
+        }
+        return description;
+    }
+
+    private String read(long offset, int length) {
+        try {
+            byte[] bytes = new byte[length];
+            file.seek(offset);
+            file.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Error reading task description: " + e.getMessage());
+            throw new RuntimeException("Failed to read description: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        cache.clear();
+        file.close();
+        if (privateCopy) {
+            Files.deleteIfExists(path);
+        }
+    }
+}
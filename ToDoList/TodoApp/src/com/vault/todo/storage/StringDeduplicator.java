@@ -0,0 +1,114 @@
+package com.vault.todo.storage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded table of canonical strings for values that repeat across many tasks
+ * Looks strings up straight from a decode buffer, so a repeated title or description costs
+ * a hash and a compare instead of a new String. The table is direct-mapped with a fixed
+ * number of slots: a new value simply replaces whatever shared its slot, so the table never
+ * grows, and long values that rarely repeat are not kept at all.
+ * Not thread-safe, each reader keeps its own.
+ */
+public class StringDeduplicator {
+    private static final int DEFAULT_SLOTS = 4096;
+    private static final int DEFAULT_MAX_LENGTH = 256;
+
+    private final String[] values;
+    private final int[] hashes;
+    private final byte[][] encoded;
+    private final int mask;
+    private final int maxLength;
+
+    public StringDeduplicator() {
+        this(DEFAULT_SLOTS, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * A table with the given number of slots, rounded up to a power of two, for values up to maxLength long
+     */
+    public StringDeduplicator(int slots, int maxLength) {
+        int size = Integer.highestOneBit(Math.max(slots - 1, 1)) << 1;
+        this.values = new String[size];
+        this.hashes = new int[size];
+        this.encoded = new byte[size][];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Canonical String for the first length chars of a buffer
+     */
+    public String dedup(char[] chars, int length) {
+        if (length == 0) {
+            return "";
+        }
+        if (length > maxLength) {
+            return new String(chars, 0, length);
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = spread(hash) & mask;
+        String value = values[slot];
+        if (value != null && hashes[slot] == hash && value.length() == length && sameChars(value, chars, length)) {
+            return value;
+        }
+        value = new String(chars, 0, length);
+        values[slot] = value;
+        hashes[slot] = hash;
+        encoded[slot] = null;
+        return value;
+    }
+
+    /**
+     * Canonical String for the first length bytes of a UTF-8 buffer
+     */
+    public String dedupUtf8(byte[] bytes, int length) {
+        if (length == 0) {
+            return "";
+        }
+        if (length > maxLength) {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        int slot = spread(hash) & mask;
+        byte[] key = encoded[slot];
+        if (key != null && hashes[slot] == hash && key.length == length && sameBytes(key, bytes, length)) {
+            return values[slot];
+        }
+        key = new byte[length];
+        System.arraycopy(bytes, 0, key, 0, length);
+        String value = new String(key, StandardCharsets.UTF_8);
+        values[slot] = value;
+        hashes[slot] = hash;
+        encoded[slot] = key;
+        return value;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean sameChars(String value, char[] chars, int length) {
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameBytes(byte[] key, byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            if (key[i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
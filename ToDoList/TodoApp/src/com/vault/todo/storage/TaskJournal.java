@@ -0,0 +1,506 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Task;
+import com.vault.todo.repository.TaskRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Journaled task storage
+ * Keeps a binary snapshot file plus an append-only log of "PUT {...}" / "DEL id" records next to it,
+ * so saving one change costs a single small append instead of rewriting every task.
+ * Appends reach the disk when sync() is called, once per batch of changes, or when the
+ * log is rotated or closed.
+ * Once the log passes a size threshold it is rotated and merged into a new snapshot
+ * on a background thread, which reads descriptions from the old snapshot one at a time
+ * as it writes them, so compaction never holds every description in memory.
+ * A JSON task file from before the binary snapshot existed is migrated on first load.
+ * With a description cache size set, descriptions are left in the snapshot file at load
+ * time and decoded when read, keeping only the most recently used ones in memory. Before the
+ * snapshot is replaced they move to a private ".desc" copy of it, so no replaced file is open.
+ * Only one process may have a store open: load() takes a lock on a ".lock" file next to the
+ * snapshot and fails fast if another process holds it, until close() releases it.
+ */
+public class TaskJournal {
+    static final long DEFAULT_COMPACT_THRESHOLD = 1024 * 1024;
+
+    private final Path snapshotFile;
+    private final Path legacyJsonFile;
+    private final Path logFile;
+    private final Path compactingFile;
+    private final Path lockFile;
+    private final long compactThreshold;
+    private final int descriptionCacheSize;
+    private final ExecutorService compactor;
+    private final List<SnapshotDescriptions> descriptionSources = new ArrayList<>();
+
+    private FileChannel logChannel;
+    private JsonTaskWriter logWriter;
+    private Future<?> compaction;
+    private FileChannel lockChannel;
+
+    public TaskJournal(String snapshotPath, String legacyJsonPath) {
+        this(snapshotPath, legacyJsonPath, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    public TaskJournal(String snapshotPath, String legacyJsonPath, long compactThreshold) {
+        this(snapshotPath, legacyJsonPath, compactThreshold, 0);
+    }
+
+    /**
+     * A journal whose loaded tasks keep their descriptions on disk when descriptionCacheSize
+     * is positive, holding at most that many decoded descriptions; 0 loads them all up front
+     */
+    public TaskJournal(String snapshotPath, String legacyJsonPath, long compactThreshold,
+                       int descriptionCacheSize) {
+        this.snapshotFile = Paths.get(snapshotPath).toAbsolutePath();
+        this.legacyJsonFile = Paths.get(legacyJsonPath).toAbsolutePath();
+        this.logFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".log");
+        this.compactingFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".log.compacting");
+        this.lockFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".lock");
+        this.compactThreshold = compactThreshold;
+        this.descriptionCacheSize = descriptionCacheSize;
+        this.compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "task-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load the snapshot and replay any log records written since it was taken
+     * Throws IllegalStateException if another process already has the store open
+     */
+    public synchronized TaskRepository load() {
+        lockStore();
+        try {
+            deleteStaleDescriptionCopies();
+            Replay replay = new Replay();
+            boolean migrate = !Files.exists(snapshotFile) && Files.exists(legacyJsonFile);
+            if (migrate) {
+                readLegacySnapshot(replay);
+            } else {
+                SnapshotDescriptions descriptions = readSnapshot(replay, descriptionCacheSize);
+                if (descriptions != null) {
+                    descriptionSources.add(descriptions);
+                }
+            }
+            boolean clean = replayLog(compactingFile, replay);
+            clean &= replayLog(logFile, replay);
+            TaskRepository tasks = new TaskRepository();
+            boolean renumbered = replay.copyTo(tasks);
+
+            if (migrate) {
+                // The JSON file is left in place, later saves only touch the binary snapshot
+                writeSnapshot(tasks.getTasks());
+                Files.deleteIfExists(legacyLog(".log.compacting"));
+                Files.deleteIfExists(legacyLog(".log"));
+            }
+            if (!clean || renumbered) {
+                // Drop the damaged tail so new records are not appended after it,
+                // and store renumbered duplicates so later records refer to their new ids
+                writeSnapshot(tasks.getTasks());
+                Files.deleteIfExists(compactingFile);
+                Files.deleteIfExists(logFile);
+            } else if (Files.exists(compactingFile)) {
+                // A previous compaction did not finish, pick it up again
+                compaction = compactor.submit(this::compact);
+            }
+            return tasks;
+        } catch (IOException e) {
+            System.err.println("Error loading tasks: " + e.getMessage());
+            throw new RuntimeException("Failed to read file: " + e.getMessage(), e);
+        } catch (Exception e) {
+            System.err.println("Error parsing tasks: " + e.getMessage());
+            throw new RuntimeException("Failed to parse JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Record a new or edited task
+     */
+    public synchronized void recordPut(Task task) {
+        try {
+            openLog();
+            logWriter.writeAscii("PUT ");
+            logWriter.writeCompactTask(task);
+            logWriter.writeAscii("\n");
+            logWriter.flush();
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.err.println("Error saving tasks: " + e.getMessage());
+            throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Record the deletion of a task
+     */
+    public synchronized void recordDelete(int id) {
+        try {
+            openLog();
+            logWriter.writeAscii("DEL ");
+            logWriter.writeInt(id);
+            logWriter.writeAscii("\n");
+            logWriter.flush();
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.err.println("Error saving tasks: " + e.getMessage());
+            throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Force every record appended so far to disk
+     */
+    public synchronized void sync() {
+        try {
+            if (logChannel != null) {
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving tasks: " + e.getMessage());
+            throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replace the stored tasks entirely, used after an import
+     */
+    public synchronized void rewrite(Collection<Task> tasks) {
+        try {
+            awaitCompaction();
+            closeLog();
+            writeSnapshot(tasks);
+            Files.deleteIfExists(compactingFile);
+            Files.deleteIfExists(logFile);
+        } catch (IOException e) {
+            System.err.println("Error saving tasks: " + e.getMessage());
+            throw new RuntimeException("Failed to save tasks: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Close the log and wait for any running compaction
+     * Lazily loaded descriptions can no longer be read afterwards
+     */
+    public synchronized void close() {
+        awaitCompaction();
+        compactor.shutdown();
+        try {
+            closeLog();
+            for (SnapshotDescriptions source : descriptionSources) {
+                source.close();
+            }
+            descriptionSources.clear();
+            if (lockChannel != null) {
+                // Closing the channel releases the lock, the file stays for the next process
+                lockChannel.close();
+                lockChannel = null;
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing task journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lock the store for this journal, two processes appending to one log would hand out the
+     * same ids and overwrite each other's changes
+     */
+    private void lockStore() {
+        if (lockChannel != null) {
+            return;
+        }
+        FileLock lock;
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            System.err.println("Error locking tasks: " + e.getMessage());
+            throw new RuntimeException("Failed to lock task store: " + e.getMessage(), e);
+        }
+        if (lock == null) {
+            closeQuietly(channel);
+            throw new IllegalStateException("The task store " + snapshotFile
+                    + " is already open in another window or command, close it and try again");
+        }
+        lockChannel = channel;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing task store lock: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rotate the log and merge it into the snapshot once it grows past the threshold
+     */
+    private void compactIfNeeded() throws IOException {
+        if (logChannel.size() < compactThreshold) {
+            return;
+        }
+        if (compaction != null && !compaction.isDone()) {
+            return;
+        }
+        if (!Files.exists(compactingFile)) {
+            closeLog();
+            Files.move(logFile, compactingFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+        // Otherwise an earlier compaction failed and is retried before rotating again
+        compaction = compactor.submit(this::compact);
+    }
+
+    /**
+     * Merge the snapshot with the rotated log segment, runs on the compactor thread
+     * Replaying records is idempotent, so a crash at any point here loses nothing
+     */
+    private void compact() {
+        try {
+            Replay replay = new Replay();
+            SnapshotDescriptions descriptions = readSnapshot(replay, 1);
+            try {
+                replayLog(compactingFile, replay);
+                writeSnapshot(replay.toList(), descriptions);
+            } finally {
+                if (descriptions != null) {
+                    descriptions.close();
+                }
+            }
+            Files.deleteIfExists(compactingFile);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Journal compaction failed, will retry: " + e.getMessage());
+        }
+    }
+
+    private void awaitCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Journal compaction failed: " + e.getCause());
+        }
+        compaction = null;
+    }
+
+    /**
+     * Read the snapshot, or its backup if the snapshot is damaged
+     * With a positive cache size descriptions stay in the file, served by the returned source
+     */
+    private SnapshotDescriptions readSnapshot(Replay replay, int cacheSize) throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return null;
+        }
+        try {
+            return readSnapshotFile(snapshotFile, replay, cacheSize);
+        } catch (IOException | RuntimeException e) {
+            Path backup = AtomicFiles.backupOf(snapshotFile);
+            if (!Files.exists(backup)) {
+                throw e;
+            }
+            System.err.println("Task snapshot unreadable (" + e.getMessage() + "), falling back to " + backup);
+            replay.clear();
+            return readSnapshotFile(backup, replay, cacheSize);
+        }
+    }
+
+    /**
+     * Read one snapshot file, lazily keeping it open to serve descriptions later
+     */
+    private SnapshotDescriptions readSnapshotFile(Path file, Replay replay, int cacheSize) throws IOException {
+        if (cacheSize <= 0) {
+            try (BinaryTaskSnapshot snapshot = BinaryTaskSnapshot.open(file)) {
+                snapshot.readTasks(replay::add);
+            }
+            return null;
+        }
+        SnapshotDescriptions descriptions = SnapshotDescriptions.open(file, cacheSize);
+        try {
+            BinaryTaskSnapshot.open(descriptions.file()).readTasks(replay::add, descriptions);
+        } catch (IOException | RuntimeException e) {
+            descriptions.close();
+            throw e;
+        }
+        return descriptions;
+    }
+
+    /**
+     * Read the JSON task file along with any journal kept next to it before migration
+     */
+    private void readLegacySnapshot(Replay replay) throws IOException {
+        try (InputStream in = Files.newInputStream(legacyJsonFile)) {
+            new JsonTaskReader(in).readTasks(replay::add);
+        }
+        replayLog(legacyLog(".log.compacting"), replay);
+        replayLog(legacyLog(".log"), replay);
+    }
+
+    private Path legacyLog(String suffix) {
+        return legacyJsonFile.resolveSibling(legacyJsonFile.getFileName() + suffix);
+    }
+
+    private boolean replayLog(Path file, Replay replay) throws IOException {
+        if (!Files.exists(file)) {
+            return true;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return new JsonTaskReader(in).readJournal(replay::put, replay::delete);
+        }
+    }
+
+    /**
+     * Replace the snapshot atomically, keeping the previous one as a backup
+     */
+    private void writeSnapshot(Collection<Task> tasks) throws IOException {
+        writeSnapshot(tasks, null);
+    }
+
+    /**
+     * Replace the snapshot, closing the source the tasks' descriptions were read from once they
+     * are all written, so it is no longer open when the old snapshot is replaced
+     */
+    private void writeSnapshot(Collection<Task> tasks, SnapshotDescriptions readFrom) throws IOException {
+        releaseSnapshot();
+        AtomicFiles.write(snapshotFile, true, channel -> {
+            BinaryTaskSnapshot.write(tasks, channel);
+            if (readFrom != null) {
+                readFrom.close();
+            }
+        });
+    }
+
+    /**
+     * Move lazy descriptions off the snapshot and its backup, both are about to be replaced
+     */
+    private void releaseSnapshot() throws IOException {
+        for (SnapshotDescriptions source : descriptionSources) {
+            source.moveToCopy();
+        }
+    }
+
+    /**
+     * Copies left behind by a process that did not close its journal
+     */
+    private void deleteStaleDescriptionCopies() throws IOException {
+        try (DirectoryStream<Path> copies = Files.newDirectoryStream(snapshotFile.getParent(),
+                snapshotFile.getFileName() + ".*.desc")) {
+            for (Path copy : copies) {
+                Files.deleteIfExists(copy);
+            }
+        }
+    }
+
+    private void openLog() throws IOException {
+        if (logChannel == null) {
+            logChannel = FileChannel.open(logFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            logWriter = new JsonTaskWriter(Channels.newOutputStream(logChannel));
+        }
+    }
+
+    private void closeLog() throws IOException {
+        if (logChannel != null) {
+            logChannel.force(false);
+            logChannel.close();
+            logChannel = null;
+            logWriter = null;
+        }
+    }
+
+    /**
+     * Task list being rebuilt from a snapshot and log records
+     * Positions are tracked by id so each record applies in constant time
+     */
+    private static class Replay {
+        private final List<Task> tasks = new ArrayList<>();
+        private final Map<Integer, Integer> positions = new HashMap<>();
+
+        /**
+         * Snapshot entries are kept even if ids repeat, later records target the last one
+         */
+        void add(Task task) {
+            positions.put(task.getId(), tasks.size());
+            tasks.add(task);
+        }
+
+        void clear() {
+            tasks.clear();
+            positions.clear();
+        }
+
+        void put(Task task) {
+            Integer position = positions.get(task.getId());
+            if (position != null) {
+                tasks.set(position, task);
+            } else {
+                positions.put(task.getId(), tasks.size());
+                tasks.add(task);
+            }
+        }
+
+        void delete(int id) {
+            Integer position = positions.remove(id);
+            if (position != null) {
+                tasks.set(position, null);
+            }
+        }
+
+        List<Task> toList() {
+            List<Task> result = new ArrayList<>(positions.size());
+            for (Task task : tasks) {
+                if (task != null) {
+                    result.add(task);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Add the surviving tasks to a repository, returning true if any id had to be renumbered
+         */
+        boolean copyTo(TaskRepository repository) {
+            boolean renumbered = false;
+            for (Task task : tasks) {
+                if (task != null) {
+                    int id = task.getId();
+                    repository.add(task);
+                    renumbered |= task.getId() != id;
+                }
+            }
+            return renumbered;
+        }
+    }
+}
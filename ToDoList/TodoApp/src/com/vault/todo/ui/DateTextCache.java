@@ -0,0 +1,42 @@
+package com.vault.todo.ui;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Shared cache of "yyyy-MM-dd" strings keyed by epoch day
+ * Direct-mapped and fixed in size, so a hit allocates nothing and memory use is bounded.
+ * Entries are immutable, which keeps lookups safe from any thread without locking.
+ */
+public class DateTextCache {
+    private static final int SIZE = 4096;
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final Entry[] ENTRIES = new Entry[SIZE];
+
+    private static class Entry {
+        final long epochDay;
+        final String text;
+
+        Entry(long epochDay, String text) {
+            this.epochDay = epochDay;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Format a date, or return "" for null
+     */
+    public static String format(LocalDate date) {
+        if (date == null) {
+            return "";
+        }
+        long epochDay = date.toEpochDay();
+        int slot = (int) (epochDay & (SIZE - 1));
+        Entry entry = ENTRIES[slot];
+        if (entry == null || entry.epochDay != epochDay) {
+            entry = new Entry(epochDay, date.format(FORMATTER));
+            ENTRIES[slot] = entry;
+        }
+        return entry.text;
+    }
+}
@@ -0,0 +1,196 @@
+package com.vault.todo.ui;
+
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Custom cell renderer for color coding
+ * Colors, fonts and borders are created once and reused, the overdue state is worked out
+ * once per row, and "today" is refreshed only at midnight, so painting cells allocates nothing.
+ */
+public class TaskTableCellRenderer extends DefaultTableCellRenderer {
+    private static final Color EVEN_ROW = new Color(0xFAFAFA);
+    private static final Color ODD_ROW = new Color(0xFFFFFF);
+    private static final Color RED = new Color(0xD32F2F);
+    private static final Color ORANGE = new Color(0xF57C00);
+    private static final Color GREEN = new Color(0x388E3C);
+    private static final Color DEEP_GREEN = new Color(0x2E7D32);
+    private static final Color DEEP_RED = new Color(0xC62828);
+    private static final Color ACCENT = new Color(0x42A5F5);
+    private static final Border FOCUS_BORDER = BorderFactory.createLineBorder(ACCENT, 2);
+    private static final Border NO_BORDER = BorderFactory.createEmptyBorder();
+    private static final int ID_TEXT_CACHE_SIZE = 1024;
+
+    private final TaskTableModel tableModel;
+
+    // Fonts derived from the table font, rebuilt only if the table font changes
+    private Font baseFont;
+    private Font plainFont;
+    private Font italicFont;
+    private Font boldFont;
+
+    // Today as an epoch day, valid until the next local midnight
+    private long today;
+    private long nextMidnightMillis;
+
+    // Overdue state of the row being painted, cells of one row share it
+    private int cachedRow = -1;
+    private Task cachedTask;
+    private long cachedVersion;
+    private boolean cachedOverdue;
+
+    // Text of recently painted ids, so id cells do not build a new string each time
+    private final int[] idTextKeys = new int[ID_TEXT_CACHE_SIZE];
+    private final String[] idTexts = new String[ID_TEXT_CACHE_SIZE];
+
+    public TaskTableCellRenderer(TaskTableModel tableModel) {
+        this.tableModel = tableModel;
+    }
+
+    /**
+     * Style the cell directly rather than through the superclass, which swaps in its own
+     * focus border on every call and so allocates border insets each time
+     */
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+            boolean hasFocus, int row, int column) {
+        setValue(value);
+        updateFonts(table.getFont());
+        setBorder(hasFocus ? FOCUS_BORDER : NO_BORDER);
+
+        Task task = tableModel.getTask(row);
+        if (task == null) {
+            setForeground(isSelected ? table.getSelectionForeground() : table.getForeground());
+            setBackground(isSelected ? table.getSelectionBackground() : table.getBackground());
+            setFont(plainFont);
+            return this;
+        }
+        boolean overdue = isOverdue(row, task);
+
+        // Alternate row colors
+        setBackground(row % 2 == 0 ? EVEN_ROW : ODD_ROW);
+
+        // Reset styles
+        Color foreground = Color.BLACK;
+        Font font = plainFont;
+
+        // Priority column (column 3)
+        if (column == 3 && task.getPriority() != null) {
+            switch (task.getPriority()) {
+                case HIGH:
+                    foreground = RED;
+                    break;
+                case MEDIUM:
+                    foreground = ORANGE;
+                    break;
+                case LOW:
+                    foreground = GREEN;
+                    break;
+            }
+        }
+
+        // Status column (column 5) and row styling
+        if (column == 5) {
+            foreground = task.getStatus() == Status.COMPLETED ? DEEP_GREEN : DEEP_RED;
+        }
+
+        // Completed tasks - italic
+        if (task.getStatus() == Status.COMPLETED) {
+            font = italicFont;
+        }
+
+        // Overdue tasks - bold red
+        if (overdue) {
+            foreground = RED;
+            font = boldFont;
+        }
+
+        // Selection background with accent color
+        if (isSelected) {
+            setBackground(ACCENT);
+            foreground = Color.WHITE;
+        }
+
+        setForeground(foreground);
+        setFont(font);
+        return this;
+    }
+
+    /**
+     * Show ids through a small cache instead of Integer.toString on every paint
+     */
+    @Override
+    protected void setValue(Object value) {
+        if (value instanceof Integer) {
+            int id = (Integer) value;
+            int slot = id & (ID_TEXT_CACHE_SIZE - 1);
+            String text = idTexts[slot];
+            if (text == null || idTextKeys[slot] != id) {
+                text = Integer.toString(id);
+                idTexts[slot] = text;
+                idTextKeys[slot] = id;
+            }
+            setText(text);
+        } else {
+            super.setValue(value);
+        }
+    }
+
+    /**
+     * Drop "text" change events unless HTML is involved, the label UI only needs them to
+     * install or remove an HTML view and building each event allocates
+     */
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        if ("text".equals(propertyName) && !isHtml(newValue) && getClientProperty(BasicHTML.propertyKey) == null) {
+            return;
+        }
+        super.firePropertyChange(propertyName, oldValue, newValue);
+    }
+
+    private static boolean isHtml(Object text) {
+        return text instanceof String && BasicHTML.isHTMLString((String) text);
+    }
+
+    private void updateFonts(Font font) {
+        if (font != baseFont) {
+            baseFont = font;
+            plainFont = font.deriveFont(Font.PLAIN);
+            italicFont = font.deriveFont(Font.ITALIC);
+            boldFont = font.deriveFont(Font.BOLD);
+        }
+    }
+
+    private boolean isOverdue(int row, Task task) {
+        long day = currentEpochDay();
+        if (row != cachedRow || task != cachedTask || task.getVersion() != cachedVersion) {
+            cachedRow = row;
+            cachedTask = task;
+            cachedVersion = task.getVersion();
+            cachedOverdue = task.getStatus() == Status.PENDING && task.getDueEpochDay() != Task.NO_DUE_DATE
+                    && task.getDueEpochDay() < day;
+        }
+        return cachedOverdue;
+    }
+
+    private long currentEpochDay() {
+        long now = System.currentTimeMillis();
+        if (now >= nextMidnightMillis) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate date = LocalDate.now(zone);
+            today = date.toEpochDay();
+            nextMidnightMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            // A new day makes every row's overdue state stale
+            cachedTask = null;
+        }
+        return today;
+    }
+}
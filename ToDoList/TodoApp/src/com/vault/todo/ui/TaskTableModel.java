@@ -5,43 +5,198 @@ import com.vault.todo.model.Task;
 import javax.swing.table.AbstractTableModel;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Table model for displaying tasks in JTable
  */
 public class TaskTableModel extends AbstractTableModel {
-    private List<Task> tasks;
+    private List<Row> rows;
     private final String[] columnNames = {"ID", "Title", "Description", "Priority", "Due Date", "Status", "Created At"};
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
+    /**
+     * A displayed task and the version it had when the row was last shown
+     * Formatted cell values are cached per row and rebuilt once the task version moves on.
+     */
+    private static class Row {
+        Task task;
+        long version;
+        long cachedVersion = -1;
+        Integer id;
+        String dueDate;
+        String createdAt;
+
+        Row(Task task) {
+            this.task = task;
+            this.version = task.getVersion();
+        }
+    }
+
     public TaskTableModel() {
-        this.tasks = new ArrayList<>();
+        this.rows = new ArrayList<>();
     }
 
     /**
-     * Set tasks and convert from LinkedList to ArrayList
+     * Show a new list of tasks, firing only the row events needed to get there
+     * Rows are matched by task id. Unchanged leading and trailing rows are skipped, the rest
+     * is walked in step and turned into ranged deletes and inserts, and matched rows whose
+     * task version changed are reported as updated. Selection and layout of untouched rows survive.
      */
     public void setTasks(List<Task> tasks) {
-        this.tasks = new ArrayList<>(tasks);
-        fireTableDataChanged();
+        List<Row> old = rows;
+        int oldSize = old.size();
+        int newSize = tasks.size();
+        List<Integer> updated = new ArrayList<>();
+
+        int prefix = 0;
+        int common = Math.min(oldSize, newSize);
+        while (prefix < common && old.get(prefix).task.getId() == tasks.get(prefix).getId()) {
+            match(old.get(prefix), tasks.get(prefix), prefix, updated);
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < common - prefix
+                && old.get(oldSize - 1 - suffix).task.getId() == tasks.get(newSize - 1 - suffix).getId()) {
+            suffix++;
+        }
+
+        // Work on a copy so the model matches each event as it is fired
+        rows = new ArrayList<>(old);
+        diffMiddle(old, tasks, prefix, oldSize - suffix, newSize - suffix, updated);
+
+        for (int k = 0; k < suffix; k++) {
+            int newIndex = newSize - suffix + k;
+            match(rows.get(newIndex), tasks.get(newIndex), newIndex, updated);
+        }
+        fireUpdated(updated);
+    }
+
+    /**
+     * Walk the changed middle of both lists, deleting rows that left or moved and inserting
+     * rows that arrived; when both heads moved, the one that moved further is the one relocated
+     */
+    private void diffMiddle(List<Row> old, List<Task> tasks, int start, int oldEnd, int newEnd,
+                            List<Integer> updated) {
+        Map<Integer, Integer> oldPositions = new HashMap<>();
+        for (int i = start; i < oldEnd; i++) {
+            oldPositions.put(old.get(i).task.getId(), i);
+        }
+        Map<Integer, Integer> newPositions = new HashMap<>();
+        for (int j = start; j < newEnd; j++) {
+            newPositions.put(tasks.get(j).getId(), j);
+        }
+
+        int i = start;
+        int j = start;
+        int pos = start;
+        int deleteRun = 0;
+        List<Row> insertRun = new ArrayList<>();
+        while (i < oldEnd || j < newEnd) {
+            boolean delete;
+            if (i >= oldEnd) {
+                delete = false;
+            } else if (j >= newEnd) {
+                delete = true;
+            } else if (old.get(i).task.getId() == tasks.get(j).getId()) {
+                pos = flushInserts(pos, insertRun);
+                flushDeletes(pos, deleteRun);
+                deleteRun = 0;
+                match(rows.get(pos), tasks.get(j), pos, updated);
+                pos++;
+                i++;
+                j++;
+                continue;
+            } else {
+                Integer newPos = newPositions.get(old.get(i).task.getId());
+                Integer oldPos = oldPositions.get(tasks.get(j).getId());
+                if (newPos == null || newPos < j) {
+                    delete = true;
+                } else if (oldPos == null || oldPos < i) {
+                    delete = false;
+                } else {
+                    delete = newPos - j >= oldPos - i;
+                }
+            }
+
+            if (delete) {
+                pos = flushInserts(pos, insertRun);
+                deleteRun++;
+                i++;
+            } else {
+                flushDeletes(pos, deleteRun);
+                deleteRun = 0;
+                insertRun.add(new Row(tasks.get(j)));
+                j++;
+            }
+        }
+        pos = flushInserts(pos, insertRun);
+        flushDeletes(pos, deleteRun);
+    }
+
+    private void flushDeletes(int pos, int count) {
+        if (count > 0) {
+            rows.subList(pos, pos + count).clear();
+            fireTableRowsDeleted(pos, pos + count - 1);
+        }
+    }
+
+    private int flushInserts(int pos, List<Row> insertRun) {
+        if (insertRun.isEmpty()) {
+            return pos;
+        }
+        int count = insertRun.size();
+        rows.addAll(pos, insertRun);
+        insertRun.clear();
+        fireTableRowsInserted(pos, pos + count - 1);
+        return pos + count;
+    }
+
+    /**
+     * Point a kept row at the task now shown there and note it if the task changed
+     */
+    private static void match(Row row, Task task, int index, List<Integer> updated) {
+        if (row.task != task || row.version != task.getVersion()) {
+            row.task = task;
+            row.version = task.getVersion();
+            updated.add(index);
+        }
+    }
+
+    /**
+     * Fire one update event per run of consecutive changed rows
+     */
+    private void fireUpdated(List<Integer> updated) {
+        int count = updated.size();
+        int k = 0;
+        while (k < count) {
+            int first = updated.get(k);
+            int last = first;
+            while (k + 1 < count && updated.get(k + 1) == last + 1) {
+                last++;
+                k++;
+            }
+            fireTableRowsUpdated(first, last);
+            k++;
+        }
     }
 
     /**
      * Add a task
      */
     public void addTask(Task task) {
-        tasks.add(task);
-        fireTableRowsInserted(tasks.size() - 1, tasks.size() - 1);
+        rows.add(new Row(task));
+        fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
     }
 
     /**
      * Remove a task
      */
     public void removeTask(int rowIndex) {
-        if (rowIndex >= 0 && rowIndex < tasks.size()) {
-            tasks.remove(rowIndex);
+        if (rowIndex >= 0 && rowIndex < rows.size()) {
+            rows.remove(rowIndex);
             fireTableRowsDeleted(rowIndex, rowIndex);
         }
     }
@@ -50,8 +205,8 @@ public class TaskTableModel extends AbstractTableModel {
      * Update a task
      */
     public void updateTask(int rowIndex, Task task) {
-        if (rowIndex >= 0 && rowIndex < tasks.size()) {
-            tasks.set(rowIndex, task);
+        if (rowIndex >= 0 && rowIndex < rows.size()) {
+            rows.set(rowIndex, new Row(task));
             fireTableRowsUpdated(rowIndex, rowIndex);
         }
     }
@@ -60,8 +215,8 @@ public class TaskTableModel extends AbstractTableModel {
      * Get task at row index
      */
     public Task getTask(int rowIndex) {
-        if (rowIndex >= 0 && rowIndex < tasks.size()) {
-            return tasks.get(rowIndex);
+        if (rowIndex >= 0 && rowIndex < rows.size()) {
+            return rows.get(rowIndex).task;
         }
         return null;
     }
@@ -70,12 +225,16 @@ public class TaskTableModel extends AbstractTableModel {
      * Get all tasks
      */
     public List<Task> getTasks() {
-        return new ArrayList<>(tasks);
+        List<Task> tasks = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            tasks.add(row.task);
+        }
+        return tasks;
     }
 
     @Override
     public int getRowCount() {
-        return tasks.size();
+        return rows.size();
     }
 
     @Override
@@ -90,11 +249,15 @@ public class TaskTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        Task task = tasks.get(rowIndex);
-        
+        Row row = rows.get(rowIndex);
+        Task task = row.task;
+        if (row.cachedVersion != task.getVersion()) {
+            refreshCache(row);
+        }
+
         switch (columnIndex) {
             case 0:
-                return task.getId();
+                return row.id;
             case 1:
                 return task.getTitle();
             case 2:
@@ -102,16 +265,27 @@ public class TaskTableModel extends AbstractTableModel {
             case 3:
                 return task.getPriority();
             case 4:
-                return task.getDueDate() != null ? task.getDueDate().format(dateFormatter) : "";
+                return row.dueDate;
             case 5:
                 return task.getStatus();
             case 6:
-                return task.getCreatedAt() != null ? task.getCreatedAt().format(dateTimeFormatter) : "";
+                return row.createdAt;
             default:
                 return null;
         }
     }
 
+    /**
+     * Rebuild the formatted values of a row, only needed after its task changed
+     */
+    private void refreshCache(Row row) {
+        Task task = row.task;
+        row.cachedVersion = task.getVersion();
+        row.id = task.getId();
+        row.dueDate = DateTextCache.format(task.getDueDate());
+        row.createdAt = task.getCreatedAt() != null ? task.getCreatedAt().format(dateTimeFormatter) : "";
+    }
+
     @Override
     public Class<?> getColumnClass(int columnIndex) {
         switch (columnIndex) {
@@ -1,51 +1,55 @@
 package com.vault.todo.ui;
 
 import com.vault.todo.model.Priority;
-import com.vault.todo.model.Status;
 import com.vault.todo.model.Task;
-import com.vault.todo.storage.StorageUtils;
+import com.vault.todo.repository.TaskFilter;
+import com.vault.todo.repository.TaskSort;
+import com.vault.todo.service.TaskService;
+import com.vault.todo.service.TaskStats;
+import com.vault.todo.storage.PersistenceService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.io.File;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Main GUI class for the To-Do List application
+ * A client of TaskService: every change, query and count goes through the service
  */
 public class TodoGUI extends JFrame {
-    private LinkedList<Task> tasks;
+    private final TaskService service;
     private TaskTableModel tableModel;
     private JTable taskTable;
     private JLabel totalTasksLabel;
     private JLabel pendingTasksLabel;
     private JLabel completedTasksLabel;
     private JLabel overdueTasksLabel;
-    private JComboBox<String> filterComboBox;
-    private JComboBox<String> sortComboBox;
-    private int nextId = 1;
+    private JLabel saveStatusLabel;
+    private JComboBox<TaskFilter> filterComboBox;
+    private JComboBox<TaskSort> sortComboBox;
+    private JTextField searchField;
+    private SwingWorker<List<Task>, Void> filterWorker;
+    private int filterGeneration;
 
     public TodoGUI() {
-        tasks = StorageUtils.loadTasks();
-        
-        // Find the highest ID to set nextId
-        for (Task task : tasks) {
-            if (task.getId() >= nextId) {
-                nextId = task.getId() + 1;
-            }
-        }
+        service = TaskService.open();
+        service.registerShutdownHook();
 
         initializeGUI();
+        service.addStatusListener((state, message) ->
+                SwingUtilities.invokeLater(() -> updateSaveStatus(state, message)));
         updateTable();
         updateDashboard();
+        scheduleMidnightRefresh();
     }
 
     /**
@@ -126,8 +130,11 @@ public class TodoGUI extends JFrame {
         taskTable.getTableHeader().setReorderingAllowed(false);
         taskTable.setSelectionBackground(new Color(0x42A5F5)); // Blue accent for selection
 
-        // Custom cell renderer for color coding
-        taskTable.setDefaultRenderer(Object.class, new TaskTableCellRenderer());
+        // Custom cell renderer for color coding, ids get their own right-aligned instance
+        taskTable.setDefaultRenderer(Object.class, new TaskTableCellRenderer(tableModel));
+        TaskTableCellRenderer idRenderer = new TaskTableCellRenderer(tableModel);
+        idRenderer.setHorizontalAlignment(SwingConstants.RIGHT);
+        taskTable.setDefaultRenderer(Integer.class, idRenderer);
 
         JScrollPane scrollPane = new JScrollPane(taskTable);
         scrollPane.setBorder(BorderFactory.createTitledBorder("Tasks"));
@@ -215,18 +222,43 @@ public class TodoGUI extends JFrame {
         panel.setBackground(new Color(0xF7F7F9));
 
         panel.add(new JLabel("Filter:"));
-        String[] filterOptions = {"All Tasks", "Only Pending", "Only Completed", "Only Overdue", "Due Today"};
-        filterComboBox = new JComboBox<>(filterOptions);
+        filterComboBox = new JComboBox<>(TaskFilter.values());
         filterComboBox.addActionListener(e -> applyFilterAndSort());
         panel.add(filterComboBox);
 
         panel.add(Box.createHorizontalStrut(20));
         panel.add(new JLabel("Sort:"));
-        String[] sortOptions = {"By Priority", "By Due Date", "By Title"};
-        sortComboBox = new JComboBox<>(sortOptions);
+        sortComboBox = new JComboBox<>(TaskSort.values());
         sortComboBox.addActionListener(e -> applyFilterAndSort());
         panel.add(sortComboBox);
 
+        panel.add(Box.createHorizontalStrut(20));
+        panel.add(new JLabel("Search:"));
+        searchField = new JTextField(18);
+        searchField.setToolTipText("Words in the title or description, matched by prefix");
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                applyFilterAndSort();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                applyFilterAndSort();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                applyFilterAndSort();
+            }
+        });
+        panel.add(searchField);
+
+        panel.add(Box.createHorizontalStrut(20));
+        saveStatusLabel = new JLabel("All changes saved");
+        saveStatusLabel.setForeground(new Color(0x2E7D32)); // Green
+        panel.add(saveStatusLabel);
+
         return panel;
     }
 
@@ -316,39 +348,22 @@ public class TodoGUI extends JFrame {
         JButton cancelButton = new JButton("Cancel");
 
         saveButton.addActionListener(e -> {
-            String titleText = titleField.getText().trim();
-            if (titleText.isEmpty()) {
-                JOptionPane.showMessageDialog(dialog, "Title cannot be empty!", "Validation Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-
-            String description = descArea.getText().trim();
             Priority priority = (Priority) priorityCombo.getSelectedItem();
-            LocalDate dueDate = null;
-
-            String dateText = dateField.getText().trim();
-            if (!dateText.isEmpty()) {
-                try {
-                    dueDate = LocalDate.parse(dateText, DateTimeFormatter.ISO_LOCAL_DATE);
-                } catch (DateTimeParseException ex) {
-                    JOptionPane.showMessageDialog(dialog, "Invalid date format! Use YYYY-MM-DD", "Validation Error", JOptionPane.ERROR_MESSAGE);
-                    return;
+            try {
+                LocalDate dueDate = TaskService.parseDueDate(dateField.getText());
+                if (taskToEdit == null) {
+                    // Add new task
+                    service.create(titleField.getText(), descArea.getText(), priority, dueDate);
+                } else {
+                    // Edit existing task
+                    service.update(taskToEdit.getId(), titleField.getText(), descArea.getText(), priority, dueDate);
                 }
+            } catch (IllegalArgumentException ex) {
+                // Blank title or invalid due date
+                JOptionPane.showMessageDialog(dialog, ex.getMessage(), "Validation Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
 
-            if (taskToEdit == null) {
-                // Add new task
-                Task newTask = new Task(nextId++, titleText, description, priority, dueDate);
-                tasks.add(newTask);
-            } else {
-                // Edit existing task
-                taskToEdit.setTitle(titleText);
-                taskToEdit.setDescription(description);
-                taskToEdit.setPriority(priority);
-                taskToEdit.setDueDate(dueDate);
-            }
-
-            StorageUtils.saveTasks(tasks);
             updateTable();
             updateDashboard();
             dialog.dispose();
@@ -382,8 +397,7 @@ public class TodoGUI extends JFrame {
                 "Confirm Delete", JOptionPane.YES_NO_OPTION);
             
             if (confirm == JOptionPane.YES_OPTION) {
-                tasks.remove(task);
-                StorageUtils.saveTasks(tasks);
+                service.delete(task.getId());
                 updateTable();
                 updateDashboard();
             }
@@ -402,69 +416,54 @@ public class TodoGUI extends JFrame {
 
         Task task = tableModel.getTask(selectedRow);
         if (task != null) {
-            if (task.getStatus() == Status.COMPLETED) {
-                task.setStatus(Status.PENDING);
-            } else {
-                task.setStatus(Status.COMPLETED);
-            }
-            StorageUtils.saveTasks(tasks);
+            service.toggleStatus(task.getId());
             updateTable();
             updateDashboard();
         }
     }
 
     /**
-     * Apply filter and sort to the table
+     * Apply filter, search and sort to the table
+     * Search text is answered by the repository's full-text index and updates as you type.
+     * Filtering is answered by the repository index and ordering by its maintained sorted views,
+     * so nothing re-sorts the whole task list. The query runs on a background worker; starting
+     * a new one interrupts the previous, which stops at its next cancellation check, and only
+     * the latest result is shown.
      */
     private void applyFilterAndSort() {
-        List<Task> filteredTasks = new LinkedList<>(tasks);
-
-        // Apply filter
-        String filter = (String) filterComboBox.getSelectedItem();
-        if (filter != null) {
-            switch (filter) {
-                case "Only Pending":
-                    filteredTasks = filteredTasks.stream()
-                        .filter(t -> t.getStatus() == Status.PENDING)
-                        .collect(Collectors.toList());
-                    break;
-                case "Only Completed":
-                    filteredTasks = filteredTasks.stream()
-                        .filter(t -> t.getStatus() == Status.COMPLETED)
-                        .collect(Collectors.toList());
-                    break;
-                case "Only Overdue":
-                    filteredTasks = filteredTasks.stream()
-                        .filter(Task::isOverdue)
-                        .collect(Collectors.toList());
-                    break;
-                case "Due Today":
-                    filteredTasks = filteredTasks.stream()
-                        .filter(Task::isDueToday)
-                        .collect(Collectors.toList());
-                    break;
-            }
+        TaskFilter selectedFilter = (TaskFilter) filterComboBox.getSelectedItem();
+        TaskSort selectedSort = (TaskSort) sortComboBox.getSelectedItem();
+        TaskFilter filter = selectedFilter != null ? selectedFilter : TaskFilter.ALL;
+        TaskSort sort = selectedSort != null ? selectedSort : TaskSort.BY_PRIORITY;
+        String query = searchField.getText();
+        LocalDate today = LocalDate.now();
+
+        if (filterWorker != null) {
+            filterWorker.cancel(true);
         }
-
-        // Apply sort
-        String sort = (String) sortComboBox.getSelectedItem();
-        if (sort != null) {
-            switch (sort) {
-                case "By Priority":
-                    filteredTasks.sort(Comparator.comparing(Task::getPriority, 
-                        Comparator.comparing(Priority::ordinal).reversed()));
-                    break;
-                case "By Due Date":
-                    filteredTasks.sort(Comparator.comparing(Task::getDueDate, 
-                        Comparator.nullsLast(Comparator.naturalOrder())));
-                    break;
-                case "By Title":
-                    filteredTasks.sort(Comparator.comparing(Task::getTitle));
-                    break;
+        int generation = ++filterGeneration;
+        filterWorker = new SwingWorker<List<Task>, Void>() {
+            @Override
+            protected List<Task> doInBackground() {
+                return service.find(filter, sort, query, today);
             }
-        }
 
-        tableModel.setTasks(filteredTasks);
+            @Override
+            protected void done() {
+                // A newer request or an edit since this one started makes the result stale
+                if (isCancelled() || generation != filterGeneration) {
+                    return;
+                }
+                try {
+                    tableModel.setTasks(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("Error filtering tasks: " + e.getCause());
+                }
+            }
+        };
+        filterWorker.execute();
     }
 
     /**
@@ -476,17 +475,49 @@ public class TodoGUI extends JFrame {
 
     /**
      * Update dashboard statistics
+     * Counters are maintained by the repository, so this takes constant time
      */
     private void updateDashboard() {
-        int total = tasks.size();
-        int pending = (int) tasks.stream().filter(t -> t.getStatus() == Status.PENDING).count();
-        int completed = (int) tasks.stream().filter(t -> t.getStatus() == Status.COMPLETED).count();
-        int overdue = (int) tasks.stream().filter(Task::isOverdue).count();
-
-        totalTasksLabel.setText("Total: " + total);
-        pendingTasksLabel.setText("Pending: " + pending);
-        completedTasksLabel.setText("Completed: " + completed);
-        overdueTasksLabel.setText("Overdue: " + overdue);
+        TaskStats stats = service.getStats(LocalDate.now());
+        totalTasksLabel.setText("Total: " + stats.getTotal());
+        pendingTasksLabel.setText("Pending: " + stats.getPending());
+        completedTasksLabel.setText("Completed: " + stats.getCompleted());
+        overdueTasksLabel.setText("Overdue: " + stats.getOverdue());
+    }
+
+    /**
+     * Refresh overdue state when the day changes, tasks due yesterday become overdue
+     */
+    private void scheduleMidnightRefresh() {
+        LocalDateTime now = LocalDateTime.now();
+        long delay = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis() + 1000;
+        Timer timer = new Timer((int) Math.min(delay, Integer.MAX_VALUE), e -> {
+            updateTable();
+            updateDashboard();
+            scheduleMidnightRefresh();
+        });
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    /**
+     * Show the background save state
+     */
+    private void updateSaveStatus(PersistenceService.State state, String message) {
+        switch (state) {
+            case SAVED:
+                saveStatusLabel.setText("All changes saved");
+                saveStatusLabel.setForeground(new Color(0x2E7D32)); // Green
+                break;
+            case SAVING:
+                saveStatusLabel.setText("Saving...");
+                saveStatusLabel.setForeground(new Color(0xF57C00)); // Orange
+                break;
+            case FAILED:
+                saveStatusLabel.setText("Save failed: " + message);
+                saveStatusLabel.setForeground(new Color(0xC62828)); // Red
+                break;
+        }
     }
 
     /**
@@ -510,33 +541,15 @@ public class TodoGUI extends JFrame {
             }
             
             try {
-                // Load tasks directly from selected file
-                LinkedList<Task> importedTasks = StorageUtils.loadTasks(file.getAbsolutePath());
-                
-                if (importedTasks == null) {
-                    importedTasks = new LinkedList<>();
-                }
-                
-                // Replace current tasks with imported tasks
-                tasks = importedTasks;
-                
-                // Update nextId
-                nextId = 1;
-                for (Task task : tasks) {
-                    if (task.getId() >= nextId) {
-                        nextId = task.getId() + 1;
-                    }
-                }
-                
-                // Save to default location
-                StorageUtils.saveTasks(tasks);
+                // Replace current and stored tasks with those in the selected file
+                int imported = service.importTasks(file.getAbsolutePath());
                 
                 // Update UI
                 updateTable();
                 updateDashboard();
                 
                 JOptionPane.showMessageDialog(this, 
-                    "Tasks imported successfully!\nLoaded " + tasks.size() + " task(s).", 
+                    "Tasks imported successfully!\nLoaded " + imported + " task(s).", 
                     "Import Success", 
                     JOptionPane.INFORMATION_MESSAGE);
                     
@@ -576,7 +589,7 @@ public class TodoGUI extends JFrame {
      * Exports as valid JSON array format with UTF-8 encoding
      */
     private void exportTasks() {
-        if (tasks == null || tasks.isEmpty()) {
+        if (service.size() == 0) {
             JOptionPane.showMessageDialog(this, 
                 "No tasks to export.", 
                 "Export Warning", 
@@ -607,11 +620,11 @@ public class TodoGUI extends JFrame {
                 }
                 
                 // Export tasks
-                StorageUtils.saveTasks(tasks, filePath);
+                int exported = service.exportTasks(filePath);
                 
                 JOptionPane.showMessageDialog(this, 
                     "Tasks exported successfully!\n\n" +
-                    "Exported " + tasks.size() + " task(s) to:\n" + filePath, 
+                    "Exported " + exported + " task(s) to:\n" + filePath, 
                     "Export Success", 
                     JOptionPane.INFORMATION_MESSAGE);
                     
@@ -637,82 +650,5 @@ public class TodoGUI extends JFrame {
             }
         }
     }
-
-    /**
-     * Custom cell renderer for color coding
-     */
-    private class TaskTableCellRenderer extends DefaultTableCellRenderer {
-        @Override
-        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, 
-                boolean hasFocus, int row, int column) {
-            Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-            
-            Task task = tableModel.getTask(row);
-            if (task == null) return c;
-
-            // Alternate row colors
-            if (!isSelected) {
-                if (row % 2 == 0) {
-                    c.setBackground(new Color(0xFAFAFA)); // Even rows
-                } else {
-                    c.setBackground(new Color(0xFFFFFF)); // Odd rows
-                }
-            }
-
-            // Reset styles
-            c.setForeground(Color.BLACK);
-            c.setFont(c.getFont().deriveFont(Font.PLAIN));
-
-            // Priority column (column 3)
-            if (column == 3) {
-                switch (task.getPriority()) {
-                    case HIGH:
-                        c.setForeground(new Color(0xD32F2F)); // Red
-                        break;
-                    case MEDIUM:
-                        c.setForeground(new Color(0xF57C00)); // Orange
-                        break;
-                    case LOW:
-                        c.setForeground(new Color(0x388E3C)); // Green
-                        break;
-                }
-            }
-
-            // Status column (column 5) and row styling
-            if (column == 5) {
-                if (task.getStatus() == Status.COMPLETED) {
-                    c.setForeground(new Color(0x2E7D32)); // Green
-                } else {
-                    c.setForeground(new Color(0xC62828)); // Red
-                }
-            }
-
-            // Completed tasks - italic
-            if (task.getStatus() == Status.COMPLETED) {
-                c.setFont(c.getFont().deriveFont(Font.ITALIC));
-            }
-
-            // Overdue tasks - bold red
-            if (task.isOverdue() && task.getStatus() == Status.PENDING) {
-                c.setForeground(new Color(0xD32F2F)); // Red
-                c.setFont(c.getFont().deriveFont(Font.BOLD));
-            }
-
-            // Selection background with accent color
-            if (isSelected) {
-                c.setBackground(new Color(0x42A5F5)); // Blue accent
-                c.setForeground(Color.WHITE);
-            }
-
-            // Focus border
-            if (hasFocus) {
-                ((JComponent) c).setBorder(BorderFactory.createLineBorder(new Color(0x42A5F5), 2));
-            } else {
-                ((JComponent) c).setBorder(BorderFactory.createEmptyBorder());
-            }
-
-            return c;
-        }
-    }
 }
 
@@ -0,0 +1,177 @@
+package com.vault.todo.model;
+
+import com.vault.todo.repository.TaskFilter;
+import com.vault.todo.repository.TaskRepository;
+import com.vault.todo.repository.TaskSort;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskTableTest {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 4, 5, 6, 7, 890_123_456);
+
+    private static void assertFields(Task expected, Task actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getDueDate(), actual.getDueDate());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getCompletedAt(), actual.getCompletedAt());
+    }
+
+    @Test
+    void rowsHoldEveryField() {
+        TaskTable table = new TaskTable(1);
+        LocalDateTime completed = LocalDateTime.of(1960, 1, 1, 0, 0, 0, 1);
+        Task full = table.add(7, "Title", "Text", Priority.HIGH, LocalDate.of(1900, 2, 28),
+                Status.COMPLETED, CREATED, completed);
+        Task empty = table.add(8, null, null, null, null, null, null, null);
+        Task primitive = table.add(9, "Raw", "", Priority.MEDIUM, Status.PENDING, (int) LocalDate.of(2030, 1, 1).toEpochDay(),
+                CREATED.toEpochSecond(ZoneOffset.UTC), CREATED.getNano(), TaskTable.NO_DATE_TIME, 0);
+
+        assertEquals(3, table.size());
+        assertEquals(LocalDate.of(1900, 2, 28), full.getDueDate());
+        assertEquals(CREATED, full.getCreatedAt());
+        assertEquals(completed, full.getCompletedAt());
+        assertEquals(Priority.HIGH, full.getPriority());
+        assertEquals(Status.COMPLETED, full.getStatus());
+        assertNull(empty.getTitle());
+        assertNull(empty.getPriority());
+        assertNull(empty.getStatus());
+        assertNull(empty.getDueDate());
+        assertEquals(Task.NO_DUE_DATE, empty.getDueEpochDay());
+        assertNull(empty.getCreatedAt());
+        assertNull(empty.getCompletedAt());
+        assertEquals(LocalDate.of(2030, 1, 1), primitive.getDueDate());
+        assertEquals(CREATED, primitive.getCreatedAt());
+        assertNull(primitive.getCompletedAt());
+        assertTrue(full.getVersion() < empty.getVersion());
+    }
+
+    @Test
+    void editsChangeTheRowAndTheVersion() {
+        Task task = new Task(1, "Old", "", Priority.LOW, null, Status.PENDING, CREATED, null);
+        long version = task.getVersion();
+
+        task.setTitle("New");
+        task.setDueDate(LocalDate.of(2025, 1, 2));
+        task.setStatus(Status.COMPLETED);
+
+        assertEquals("New", task.getTitle());
+        assertEquals(LocalDate.of(2025, 1, 2).toEpochDay(), task.getDueEpochDay());
+        assertTrue(task.getCompletedAt() != null);
+        assertTrue(task.getVersion() > version);
+        task.setStatus(Status.PENDING);
+        assertNull(task.getCompletedAt());
+    }
+
+    @Test
+    void copiesAreIndependentAndKeepTheVersion() {
+        Task task = new Task(1, "Title", "Text", Priority.MEDIUM, LocalDate.of(2025, 5, 6),
+                Status.PENDING, CREATED, null);
+        task.setLazyDescription((t, offset, length) -> "lazy " + offset + "/" + length, 10, 4);
+
+        Task copy = task.copy();
+        List<Task> copies = TaskTable.copyAll(Arrays.asList(task, copy));
+
+        assertFields(task, copy);
+        assertEquals(task.getVersion(), copy.getVersion());
+        assertEquals("lazy 10/4", copies.get(1).getDescription());
+        copy.setTitle("Changed");
+        copies.get(0).setDescription("Eager");
+        assertEquals("Title", task.getTitle());
+        assertEquals("lazy 10/4", task.getDescription());
+        assertEquals("Title", copies.get(1).getTitle());
+        assertNotEquals(task.getVersion(), copy.getVersion());
+    }
+
+    @Test
+    void repositoryMovesTasksInAndOut() {
+        TaskRepository repository = new TaskRepository();
+        List<Task> loaded = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            loaded.add(new Task(id, "Task " + id, "", Priority.LOW, LocalDate.of(2025, 1, 1).plusDays(id),
+                    Status.PENDING, CREATED, null));
+        }
+        List<Task> expected = TaskTable.copyAll(loaded);
+        repository.addAll(loaded);
+
+        for (int i = 0; i < loaded.size(); i++) {
+            assertSame(loaded.get(i), repository.get(i + 1));
+            assertFields(expected.get(i), loaded.get(i));
+        }
+
+        Task removed = repository.remove(5);
+        Task created = repository.create("Reuses the freed row", "", Priority.HIGH, null);
+        removed.setTitle("Edited after removal");
+
+        assertEquals(5, removed.getId());
+        assertEquals("Edited after removal", removed.getTitle());
+        assertEquals("Reuses the freed row", created.getTitle());
+        assertFalse(repository.contains(5));
+        for (Task task : repository.getTasks()) {
+            assertNotEquals("Edited after removal", task.getTitle());
+        }
+        assertEquals(repository.size(), repository.find(TaskFilter.ALL, TaskSort.BY_TITLE, LocalDate.now()).size());
+    }
+
+    @Test
+    void replacingAllKeepsDroppedTasksReadable() {
+        TaskRepository repository = new TaskRepository();
+        Task old = repository.create("Old", "Kept", Priority.LOW, LocalDate.of(2025, 2, 3));
+        Task next = new Task(50, "Next", "", Priority.MEDIUM, null, Status.PENDING, CREATED, null);
+
+        repository.replaceAll(Arrays.asList(next, old));
+
+        assertEquals(2, repository.size());
+        assertSame(next, repository.get(50));
+        assertEquals("Old", old.getTitle());
+        assertEquals(LocalDate.of(2025, 2, 3), repository.get(old.getId()).getDueDate());
+    }
+
+    @Test
+    void dueDateOrderAndFiltersUseEpochDays() {
+        LocalDate today = LocalDate.of(2025, 6, 15);
+        Task none = new Task(1, "None", "", Priority.LOW, null, Status.PENDING, CREATED, null);
+        Task late = new Task(2, "Late", "", Priority.LOW, today.minusDays(1), Status.PENDING, CREATED, null);
+        Task due = new Task(3, "Due", "", Priority.LOW, today, Status.PENDING, CREATED, null);
+        Task ancient = new Task(4, "Ancient", "", Priority.LOW, LocalDate.of(-5000, 1, 1), Status.COMPLETED, CREATED, null);
+        List<Task> tasks = new ArrayList<>(Arrays.asList(none, late, due, ancient));
+
+        tasks.sort(TaskSort.BY_DUE_DATE.getComparator());
+
+        assertEquals(Arrays.asList(ancient, late, due, none), tasks);
+        assertTrue(TaskFilter.OVERDUE.matches(late, today));
+        assertFalse(TaskFilter.OVERDUE.matches(ancient, today));
+        assertFalse(TaskFilter.OVERDUE.matches(none, today));
+        assertTrue(TaskFilter.DUE_TODAY.matches(due, today));
+        assertFalse(TaskFilter.DUE_TODAY.matches(none, today));
+    }
+
+    @Test
+    void dueDatesOutsideTheColumnAreRejected() {
+        Task task = new Task(1, "Title", "", Priority.LOW, null);
+
+        assertThrows(IllegalArgumentException.class, () -> task.setDueDate(LocalDate.MAX));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Task(2, "Title", "", Priority.LOW, LocalDate.MIN));
+        assertNull(task.getDueDate());
+        assertFalse(TaskTable.canStore(LocalDate.MAX));
+        assertTrue(TaskTable.canStore(LocalDate.of(999_999, 12, 31)));
+    }
+}
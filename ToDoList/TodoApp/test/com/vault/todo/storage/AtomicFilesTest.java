@@ -0,0 +1,118 @@
+package com.vault.todo.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AtomicFilesTest {
+    @TempDir
+    Path dir;
+
+    private static void write(Path target, boolean keepBackup, String content) throws IOException {
+        AtomicFiles.write(target, keepBackup,
+                channel -> channel.write(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void backupRollsToPreviousVersion() throws IOException {
+        Path target = dir.resolve("tasks.json");
+        Path backup = AtomicFiles.backupOf(target);
+
+        write(target, true, "first");
+        assertFalse(Files.exists(backup), "nothing to back up yet");
+
+        write(target, true, "second");
+        assertEquals("second", read(target));
+        assertEquals("first", read(backup));
+
+        write(target, true, "third");
+        assertEquals("third", read(target));
+        assertEquals("second", read(backup));
+        assertEquals(2, fileCount());
+    }
+
+    @Test
+    void backupIsUntouchedWithoutKeepBackup() throws IOException {
+        Path target = dir.resolve("tasks.json");
+        write(target, true, "first");
+        write(target, true, "second");
+
+        write(target, false, "third");
+
+        assertEquals("third", read(target));
+        assertEquals("first", read(AtomicFiles.backupOf(target)));
+    }
+
+    @Test
+    void failedWriteKeepsOldFileAndLeavesNoTemp() throws IOException {
+        Path target = dir.resolve("tasks.json");
+        write(target, true, "first");
+        write(target, true, "second");
+
+        assertThrows(IOException.class, () -> AtomicFiles.write(target, true, channel -> {
+            channel.write(ByteBuffer.wrap("partial".getBytes(StandardCharsets.UTF_8)));
+            throw new IOException("disk full");
+        }));
+
+        assertEquals("second", read(target));
+        assertEquals("first", read(AtomicFiles.backupOf(target)));
+        assertEquals(2, fileCount());
+    }
+
+    @Test
+    void replacingKeepsPermissions() throws IOException {
+        assumeTrue(Files.getFileStore(dir).supportsFileAttributeView(PosixFileAttributeView.class));
+        Path target = dir.resolve("tasks.json");
+        write(target, false, "first");
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(target, permissions);
+
+        write(target, false, "second");
+
+        assertEquals(permissions, Files.getPosixFilePermissions(target));
+    }
+
+    @Test
+    void largeContentIsWrittenCompletely() throws IOException {
+        Path target = dir.resolve("tasks.bin");
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+
+        AtomicFiles.write(target, false, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+}
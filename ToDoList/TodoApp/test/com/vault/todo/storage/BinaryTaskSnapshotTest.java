@@ -0,0 +1,121 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryTaskSnapshotTest {
+    @TempDir
+    Path dir;
+
+    private Path write(Collection<Task> tasks) throws IOException {
+        Path file = dir.resolve("tasks.bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            BinaryTaskSnapshot.write(tasks, channel);
+        }
+        return file;
+    }
+
+    private static List<Task> sampleTasks() {
+        StringBuilder longDescription = new StringBuilder();
+        while (longDescription.length() < 100_000) {
+            longDescription.append("A long description that does not fit the read buffer. ");
+        }
+        return Arrays.asList(
+                new Task(1, "Write report", "Quarterly numbers", Priority.HIGH, LocalDate.of(2025, 6, 30),
+                        Status.PENDING, LocalDateTime.of(2025, 6, 1, 9, 30, 15, 123_456_789), null),
+                new Task(2, "Done", "", Priority.LOW, null,
+                        Status.COMPLETED, LocalDateTime.of(1999, 12, 31, 23, 59), LocalDateTime.of(2000, 1, 1, 0, 0)),
+                new Task(3, "café 日本 🚀", longDescription.toString(), Priority.MEDIUM,
+                        LocalDate.of(1970, 1, 1), Status.PENDING, LocalDateTime.of(1960, 2, 29, 12, 0), null));
+    }
+
+    @Test
+    void tasksRoundTrip() throws IOException {
+        List<Task> tasks = sampleTasks();
+        Path file = write(tasks);
+
+        List<Task> read = new ArrayList<>();
+        try (BinaryTaskSnapshot snapshot = BinaryTaskSnapshot.open(file)) {
+            assertEquals(tasks.size(), snapshot.size());
+            snapshot.readTasks(read::add);
+        }
+
+        assertEquals(tasks.size(), read.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            JsonTaskReaderTest.assertSameTask(tasks.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    void singleFieldsAreReadInAnyOrder() throws IOException {
+        List<Task> tasks = sampleTasks();
+        Path file = write(tasks);
+
+        try (BinaryTaskSnapshot snapshot = BinaryTaskSnapshot.open(file)) {
+            assertEquals(tasks.get(2).getDescription(), snapshot.readDescription(2));
+            assertEquals("Write report", snapshot.readTitle(0));
+            assertEquals("", snapshot.readDescription(1));
+            assertEquals(tasks.get(2).getTitle(), snapshot.readTitle(2));
+            JsonTaskReaderTest.assertSameTask(tasks.get(0), snapshot.readTask(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> snapshot.readTask(3));
+        }
+    }
+
+    @Test
+    void lazyDescriptionsReadFromFileOffsets() throws IOException {
+        List<Task> tasks = sampleTasks();
+        Path file = write(tasks);
+        byte[] bytes = Files.readAllBytes(file);
+
+        List<Task> read = new ArrayList<>();
+        try (BinaryTaskSnapshot snapshot = BinaryTaskSnapshot.open(file)) {
+            snapshot.readTasks(read::add, (task, offset, length) ->
+                    new String(bytes, (int) offset, length, StandardCharsets.UTF_8));
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getDescription(), read.get(i).getDescription());
+        }
+    }
+
+    @Test
+    void emptySnapshotRoundTrips() throws IOException {
+        Path file = write(new ArrayList<>());
+
+        try (BinaryTaskSnapshot snapshot = BinaryTaskSnapshot.open(file)) {
+            assertEquals(0, snapshot.size());
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path json = dir.resolve("tasks.json");
+        Files.write(json, JsonTaskReaderTest.write(sampleTasks()));
+        assertThrows(IllegalArgumentException.class, () -> BinaryTaskSnapshot.open(json).close());
+
+        Path file = write(sampleTasks());
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        assertThrows(IllegalArgumentException.class, () -> BinaryTaskSnapshot.open(file).close());
+    }
+}
@@ -0,0 +1,131 @@
+package com.vault.todo.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IsoDateCodecTest {
+
+    private static String formatDate(LocalDate date) {
+        byte[] buffer = new byte[16];
+        int end = IsoDateCodec.formatDate(date, buffer, 3);
+        return end < 0 ? null : new String(buffer, 3, end - 3, StandardCharsets.US_ASCII);
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime) {
+        byte[] buffer = new byte[IsoDateCodec.MAX_DATETIME_LENGTH + 5];
+        int end = IsoDateCodec.formatDateTime(dateTime, buffer, 5);
+        return end < 0 ? null : new String(buffer, 5, end - 5, StandardCharsets.US_ASCII);
+    }
+
+    private static LocalDateTime randomDateTime(Random random) {
+        LocalDateTime dateTime = LocalDateTime.of(1900, 1, 1, 0, 0)
+                .plusSeconds((long) (random.nextDouble() * 200L * 365 * 24 * 3600));
+        switch (random.nextInt(4)) {
+            case 0:
+                return dateTime;
+            case 1:
+                return dateTime.withNano(random.nextInt(1000) * 1_000_000);
+            case 2:
+                return dateTime.withNano(random.nextInt(1_000_000) * 1000);
+            default:
+                return dateTime.withNano(random.nextInt(1_000_000_000));
+        }
+    }
+
+    @Test
+    void formattingMatchesIsoFormatter() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            LocalDateTime dateTime = randomDateTime(random);
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime), formatDateTime(dateTime));
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE.format(dateTime.toLocalDate()),
+                    formatDate(dateTime.toLocalDate()));
+        }
+    }
+
+    @Test
+    void formattedValuesParseBack() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            LocalDateTime dateTime = randomDateTime(random);
+            String text = formatDateTime(dateTime);
+            assertEquals(dateTime, IsoDateCodec.parseDateTime(text));
+            assertEquals(dateTime, IsoDateCodec.parseDateTime(text.toCharArray(), 0, text.length()));
+            assertEquals(dateTime.toLocalDate(), IsoDateCodec.parseDate(formatDate(dateTime.toLocalDate())));
+        }
+    }
+
+    @Test
+    void yearsOutsideFourDigitsUseFormatter() {
+        LocalDate future = LocalDate.of(12345, 6, 7);
+        LocalDate past = LocalDate.of(-44, 3, 15);
+
+        assertNull(formatDate(future));
+        assertNull(formatDate(past));
+        assertNull(formatDateTime(future.atTime(1, 2)));
+        assertEquals(future, IsoDateCodec.parseDate(DateTimeFormatter.ISO_LOCAL_DATE.format(future)));
+        assertEquals(past.atTime(1, 2, 3),
+                IsoDateCodec.parseDateTime(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(past.atTime(1, 2, 3))));
+    }
+
+    @Test
+    void shortLayoutsParseLikeLocalDateTime() {
+        String[] texts = {
+                "2025-01-02T03:04",
+                "2025-01-02T03:04:05",
+                "2025-01-02T03:04:05.6",
+                "2025-01-02T03:04:05.123456789",
+                "0000-01-01T00:00",
+                "9999-12-31T23:59:59.999999999",
+        };
+        for (String text : texts) {
+            assertEquals(LocalDateTime.parse(text), IsoDateCodec.parseDateTime(text));
+        }
+        assertEquals(LocalDate.parse("2024-02-29"), IsoDateCodec.parseDate("2024-02-29"));
+    }
+
+    @Test
+    void invalidTextIsHandledLikeLocalDateTime() {
+        String[] dates = {"2025-02-30", "2025-13-01", "2025-1-01", "2025/01/01", "20250101", "", "2025-01-0x"};
+        for (String text : dates) {
+            assertThrows(DateTimeParseException.class, () -> IsoDateCodec.parseDate(text), text);
+            assertNull(IsoDateCodec.parseDate(text.toCharArray(), 0, text.length()), text);
+        }
+
+        // Whatever LocalDateTime.parse makes of a text, including odd forms it accepts, the codec agrees
+        String[] dateTimes = {
+                "2025-01-01T24:00", "2025-01-01T12:60", "2025-01-01T12:00:60", "2025-01-01 12:00",
+                "2025-01-01T12:00:00.", "2025-01-01T12:00:00.1234567890", "2025-01-01T12", "2025-01-01",
+                "2025-01-01T12:00:0", "2025-01-01T12:00Z", "+2025-01-01T12:00",
+        };
+        for (String text : dateTimes) {
+            LocalDateTime expected;
+            try {
+                expected = LocalDateTime.parse(text);
+            } catch (DateTimeParseException e) {
+                assertThrows(DateTimeParseException.class, () -> IsoDateCodec.parseDateTime(text), text);
+                continue;
+            }
+            assertEquals(expected, IsoDateCodec.parseDateTime(text), text);
+        }
+    }
+
+    @Test
+    void charRangesAreParsedInPlace() {
+        char[] chars = "xx2025-07-08T09:10:11.5yy".toCharArray();
+
+        assertEquals(LocalDate.of(2025, 7, 8), IsoDateCodec.parseDate(chars, 2, 10));
+        assertEquals(LocalDateTime.of(2025, 7, 8, 9, 10, 11, 500_000_000),
+                IsoDateCodec.parseDateTime(chars, 2, 21));
+    }
+}
@@ -0,0 +1,155 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonTaskReaderTest {
+
+    static List<Task> read(String json) throws IOException {
+        return read(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static List<Task> read(byte[] json) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        new JsonTaskReader(new ByteArrayInputStream(json)).readTasks(tasks::add);
+        return tasks;
+    }
+
+    static byte[] write(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonTaskWriter writer = new JsonTaskWriter(out);
+        writer.writeTasks(tasks);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    static void assertSameTask(Task expected, Task actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getDueDate(), actual.getDueDate());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getCompletedAt(), actual.getCompletedAt());
+    }
+
+    @Test
+    void writtenTasksReadBackUnchanged() throws IOException {
+        List<Task> tasks = Arrays.asList(
+                new Task(1, "Write report", "Quarterly numbers", Priority.HIGH, LocalDate.of(2025, 6, 30),
+                        Status.PENDING, LocalDateTime.of(2025, 6, 1, 9, 30, 15), null),
+                new Task(2, "Ship it", "", Priority.LOW, null,
+                        Status.COMPLETED, LocalDateTime.of(2024, 12, 31, 23, 59, 59, 123_000_000),
+                        LocalDateTime.of(2025, 1, 2, 8, 0)));
+
+        List<Task> read = read(write(tasks));
+
+        assertEquals(tasks.size(), read.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertSameTask(tasks.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    void escapesAndNonAsciiTextRoundTrip() throws IOException {
+        String title = "Quote \" backslash \\ slash / tab \t newline \n bell \u0007 end";
+        String description = "caf\u00e9 \u65e5\u672c \ud83d\ude80 \u2028";
+        Task task = new Task(7, title, description, Priority.MEDIUM, null,
+                Status.PENDING, LocalDateTime.of(2025, 3, 4, 5, 6, 7), null);
+
+        Task read = read(write(Arrays.asList(task))).get(0);
+
+        assertEquals(title, read.getTitle());
+        assertEquals(description, read.getDescription());
+    }
+
+    @Test
+    void escapeSequencesAreDecoded() throws IOException {
+        Task task = read("[{\"id\": 1, \"title\": \"a\\/b\\u0041\\u00e9\\ud83d\\ude80\\b\\f\\r\"}]").get(0);
+
+        assertEquals("a/bA\u00e9\ud83d\ude80\b\f\r", task.getTitle());
+    }
+
+    @Test
+    void malformedEscapesAreKeptAsWritten() throws IOException {
+        Task task = read("[{\"id\": 1, \"title\": \"bad \\q and \\u12x\"}]").get(0);
+
+        assertEquals("bad \\q and \\u12x", task.getTitle());
+    }
+
+    @Test
+    void missingFieldsGetDefaults() throws IOException {
+        Task task = read("[{}]").get(0);
+
+        assertEquals(1, task.getId());
+        assertEquals("Untitled Task", task.getTitle());
+        assertEquals("", task.getDescription());
+        assertEquals(Priority.LOW, task.getPriority());
+        assertEquals(Status.PENDING, task.getStatus());
+        assertNull(task.getDueDate());
+        assertNotNull(task.getCreatedAt());
+        assertNull(task.getCompletedAt());
+    }
+
+    @Test
+    void invalidValuesFallBackToDefaults() throws IOException {
+        Task task = read("[{\"id\": \"x\", \"title\": \"\", \"priority\": \"high\", \"status\": \"DONE\","
+                + " \"dueDate\": \"not a date\", \"createdAt\": \"\", \"completedAt\": \"2025-13-01T00:00:00\","
+                + " \"extra\": {\"nested\": [1, 2]}}]").get(0);
+
+        assertEquals(1, task.getId());
+        assertEquals("Untitled Task", task.getTitle());
+        assertEquals(Priority.HIGH, task.getPriority());
+        assertEquals(Status.PENDING, task.getStatus());
+        assertNull(task.getDueDate());
+        assertNotNull(task.getCreatedAt());
+        assertNull(task.getCompletedAt());
+    }
+
+    @Test
+    void dueDatesTooFarAwayToStoreAreSkipped() throws IOException {
+        Task task = read("[{\"id\": 1, \"title\": \"Far\", \"dueDate\": \"+999999999-12-31\"}]").get(0);
+
+        assertEquals("Far", task.getTitle());
+        assertNull(task.getDueDate());
+    }
+
+    @Test
+    void objectFormatSkipsOtherKeys() throws IOException {
+        List<Task> tasks = read("\ufeff{\"version\": 2, \"meta\": {\"tasks\": []},"
+                + " \"tasks\": [{\"id\": 3, \"title\": \"Only\"}, ,], \"after\": null}");
+
+        assertEquals(1, tasks.size());
+        assertEquals(3, tasks.get(0).getId());
+        assertEquals("Only", tasks.get(0).getTitle());
+    }
+
+    @Test
+    void invalidStructureIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> read("{}"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"other\": []}"));
+        assertThrows(IllegalArgumentException.class, () -> read("\"tasks\""));
+        assertThrows(IllegalArgumentException.class, () -> read("[{\"id\": 1}"));
+        assertThrows(IllegalArgumentException.class, () -> read("[{\"title\": \"unterminated}]"));
+        assertThrows(IllegalArgumentException.class, () -> read("[] trailing"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"tasks\": []} {}"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelJsonImporterTest {
+    // createdAt would otherwise default to the time each importer read the task
+    private static final String TASK = "{\"id\": 1, \"createdAt\": \"2025-01-01T00:00:00\"}";
+
+    private static ForkJoinPool pool;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Enough tasks, with long descriptions, to span several import chunks
+     */
+    private static List<Task> manyTasks() {
+        List<Task> tasks = new ArrayList<>();
+        StringBuilder description = new StringBuilder();
+        for (int i = 1; i <= 40_000; i++) {
+            description.setLength(0);
+            for (int j = 0; j < i % 20; j++) {
+                description.append("line ").append(j).append(", with \"quotes\" [brackets] {braces}\n");
+            }
+            tasks.add(new Task(i, "Task " + i + (i % 7 == 0 ? " café" : ""), description.toString(),
+                    Priority.values()[i % 3], i % 5 == 0 ? null : LocalDate.of(2025, 1, 1).plusDays(i % 365),
+                    i % 4 == 0 ? Status.COMPLETED : Status.PENDING, LocalDateTime.of(2024, 6, 1, 12, 0).plusMinutes(i),
+                    i % 4 == 0 ? LocalDateTime.of(2025, 2, 1, 8, 0).plusMinutes(i) : null));
+        }
+        return tasks;
+    }
+
+    private Path file(String name, byte[] content) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, content);
+        return file;
+    }
+
+    private Path file(String name, String content) throws IOException {
+        return file(name, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Both importers must return the same tasks, or fail with the same message
+     */
+    private void assertParity(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        List<Task> expected = null;
+        IllegalArgumentException expectedError = null;
+        try {
+            expected = JsonTaskReaderTest.read(bytes);
+        } catch (IllegalArgumentException e) {
+            expectedError = e;
+        }
+
+        if (expectedError != null) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> new ParallelJsonImporter(pool).importTasks(file), file.getFileName().toString());
+            assertEquals(expectedError.getMessage(), error.getMessage());
+            return;
+        }
+        List<Task> actual = new ParallelJsonImporter(pool).importTasks(file);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            JsonTaskReaderTest.assertSameTask(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    void largeArrayMatchesSequentialReader() throws IOException {
+        byte[] json = JsonTaskReaderTest.write(manyTasks());
+        Path file = file("tasks.json", json);
+
+        assertParity(file);
+        assertEquals(40_000, new ParallelJsonImporter(pool).importTasks(file).size());
+    }
+
+    @Test
+    void largeObjectMatchesSequentialReader() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write("\ufeff{\"version\": 2, \"tasks\": ".getBytes(StandardCharsets.UTF_8));
+        out.write(JsonTaskReaderTest.write(manyTasks()));
+        out.write(", \"exported\": \"2025-06-01\"}\n".getBytes(StandardCharsets.UTF_8));
+
+        assertParity(file("tasks.json", out.toByteArray()));
+    }
+
+    @Test
+    void errorInLaterChunkReportsFileOffset() throws IOException {
+        byte[] json = JsonTaskReaderTest.write(manyTasks());
+        String text = new String(json, StandardCharsets.UTF_8);
+        int broken = text.indexOf("\"id\": 39000,");
+        text = text.substring(0, broken) + "\"id\" 39000," + text.substring(broken + "\"id\": 39000,".length());
+
+        assertParity(file("tasks.json", text));
+    }
+
+    @Test
+    void trailingContentIsHandledLikeSequentialReader() throws IOException {
+        String[] documents = {
+                "[" + TASK + "]   \n",
+                "[" + TASK + "] x",
+                "[" + TASK + "]]",
+                "[" + TASK + "],[]",
+                "{\"tasks\": [" + TASK + "]}\n",
+                "{\"tasks\": [" + TASK + "]} {}",
+                "{\"tasks\": [" + TASK + "], \"more\": [1, {\"a\": \"]}\"}], \"n\": -1.5e3}",
+                "{\"tasks\": [" + TASK + "], \"tasks\": [" + TASK + "]}",
+                "{\"tasks\": [" + TASK + "] \"more\": 1}",
+                "{\"tasks\": [" + TASK + "],",
+                "{\"tasks\": [" + TASK + "], \"more\" 1}",
+                "{\"tasks\": [" + TASK + "], \"more\": }",
+                "{\"tasks\": [" + TASK + "], \"more\": [1, 2}",
+                "{\"tasks\": [" + TASK + "], 5}",
+                "{\"tasks\": [" + TASK + "]",
+        };
+        for (int i = 0; i < documents.length; i++) {
+            assertParity(file("doc" + i + ".json", documents[i]));
+        }
+    }
+
+    @Test
+    void structureErrorsMatchSequentialReader() throws IOException {
+        String[] documents = {
+                "",
+                "   ",
+                "{}",
+                "{\"other\": []}",
+                "{\"tasks\": 5}",
+                "\"tasks\"",
+                "[",
+                "[" + TASK,
+                "[" + TASK + ",,]",
+                "[}]",
+                "[" + TASK + "}]",
+                "[{\"title\": \"unterminated}]",
+                "[\"tasks\", 1, null, [2], " + TASK + "]",
+        };
+        for (int i = 0; i < documents.length; i++) {
+            assertParity(file("doc" + i + ".json", documents[i]));
+        }
+        assertParity(file("bom.json", new byte[]{(byte) 0xEF, (byte) 0xBB, '[', ']'}));
+    }
+
+    @Test
+    void fileIsReleasedAfterImport() throws IOException {
+        Path file = file("tasks.json", "[" + TASK + "]");
+        assertNotNull(new ParallelJsonImporter(pool).importTasks(file));
+
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,203 @@
+package com.vault.todo.storage;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import com.vault.todo.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskJournalTest {
+    @TempDir
+    Path dir;
+
+    private Path snapshot() {
+        return dir.resolve("tasks.bin");
+    }
+
+    private Path log() {
+        return dir.resolve("tasks.bin.log");
+    }
+
+    private TaskJournal journal(long compactThreshold, int descriptionCacheSize) {
+        return new TaskJournal(snapshot().toString(), dir.resolve("tasks.json").toString(),
+                compactThreshold, descriptionCacheSize);
+    }
+
+    private TaskJournal journal() {
+        return journal(TaskJournal.DEFAULT_COMPACT_THRESHOLD, 0);
+    }
+
+    private static Task task(int id, String title) {
+        return new Task(id, title, "Description of " + title, Priority.MEDIUM, LocalDate.of(2025, 5, id % 28 + 1),
+                Status.PENDING, LocalDateTime.of(2025, 1, 1, 10, 0), null);
+    }
+
+    /**
+     * Load the store in a fresh journal, close it, and return what was loaded
+     */
+    private TaskRepository reload() {
+        TaskJournal journal = journal();
+        try {
+            return journal.load();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private void append(String text) throws IOException {
+        Files.write(log(), text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    @Test
+    void recordsAreReplayedOnLoad() {
+        TaskJournal journal = journal();
+        journal.load();
+        journal.recordPut(task(1, "First"));
+        journal.recordPut(task(2, "Second"));
+        Task edited = task(1, "First, edited");
+        edited.setStatus(Status.COMPLETED);
+        journal.recordPut(edited);
+        journal.recordDelete(2);
+        journal.sync();
+        journal.close();
+
+        TaskRepository tasks = reload();
+
+        assertEquals(1, tasks.size());
+        JsonTaskReaderTest.assertSameTask(edited, tasks.get(1));
+        assertNull(tasks.get(2));
+    }
+
+    @Test
+    void tornLastRecordIsDropped() throws IOException {
+        TaskJournal journal = journal();
+        journal.load();
+        journal.recordPut(task(1, "Kept"));
+        journal.recordPut(task(2, "Also kept"));
+        journal.close();
+        append("PUT {\"id\":3,\"title\":\"Torn");
+
+        TaskRepository tasks = reload();
+
+        assertEquals(2, tasks.size());
+        assertEquals("Kept", tasks.get(1).getTitle());
+        assertEquals("Also kept", tasks.get(2).getTitle());
+        assertFalse(Files.exists(log()), "the damaged log is folded into the snapshot");
+    }
+
+    @Test
+    void recordWithoutNewlineIsDropped() throws IOException {
+        TaskJournal journal = journal();
+        journal.load();
+        journal.recordPut(task(1, "Kept"));
+        journal.close();
+        append("DEL 1");
+
+        assertEquals(1, reload().size());
+    }
+
+    @Test
+    void changesAfterTornRecordSurviveNextLoad() throws IOException {
+        TaskJournal journal = journal();
+        journal.load();
+        journal.recordPut(task(1, "Kept"));
+        journal.close();
+        append("PUT {\"id\":2,\"ti");
+
+        journal = journal();
+        journal.load();
+        journal.recordPut(task(3, "Written after recovery"));
+        journal.close();
+
+        TaskRepository tasks = reload();
+        assertEquals(2, tasks.size());
+        assertEquals("Written after recovery", tasks.get(3).getTitle());
+    }
+
+    @Test
+    void compactionKeepsEveryChange() throws IOException {
+        TaskJournal journal = journal(512, 0);
+        journal.load();
+        for (int i = 1; i <= 200; i++) {
+            journal.recordPut(task(i, "Task " + i));
+        }
+        for (int i = 1; i <= 200; i += 2) {
+            journal.recordDelete(i);
+        }
+        journal.recordPut(task(2, "Edited after compaction"));
+        journal.close();
+
+        assertTrue(Files.size(snapshot()) > 0);
+        assertFalse(Files.exists(dir.resolve("tasks.bin.log.compacting")), "close waits for the compaction");
+        TaskRepository tasks = reload();
+        assertEquals(100, tasks.size());
+        assertEquals("Edited after compaction", tasks.get(2).getTitle());
+        assertEquals("Description of Task 200", tasks.get(200).getDescription());
+    }
+
+    @Test
+    void lazyDescriptionsSurviveCompaction() {
+        TaskJournal journal = journal();
+        journal.load();
+        journal.recordPut(task(1, "One"));
+        journal.recordPut(task(2, "Two"));
+        journal.rewrite(Arrays.asList(task(1, "One"), task(2, "Two")));
+        journal.close();
+
+        journal = journal(64, 1);
+        TaskRepository tasks = journal.load();
+        for (int i = 3; i <= 20; i++) {
+            journal.recordPut(task(i, "Task " + i));
+        }
+        assertEquals("Description of One", tasks.get(1).getDescription());
+        assertEquals("Description of Two", tasks.get(2).getDescription());
+        assertEquals("Description of One", tasks.get(1).getDescription());
+        journal.close();
+
+        assertEquals(20, reload().size());
+    }
+
+    @Test
+    void legacyJsonIsMigratedOnce() throws IOException {
+        Files.write(dir.resolve("tasks.json"), JsonTaskReaderTest.write(Arrays.asList(task(4, "From JSON"))));
+
+        TaskRepository tasks = reload();
+        assertEquals("From JSON", tasks.get(4).getTitle());
+        assertTrue(Files.exists(snapshot()));
+
+        // Later edits to the JSON file are no longer read
+        Files.write(dir.resolve("tasks.json"), JsonTaskReaderTest.write(Arrays.asList(task(5, "Ignored"))));
+        tasks = reload();
+        assertEquals(1, tasks.size());
+        assertEquals("From JSON", tasks.get(4).getTitle());
+    }
+
+    @Test
+    void secondJournalCannotOpenStore() {
+        TaskJournal first = journal();
+        first.load();
+        try {
+            assertThrows(IllegalStateException.class, () -> journal().load());
+        } finally {
+            first.close();
+        }
+
+        assertEquals(0, reload().size());
+    }
+}
@@ -0,0 +1,205 @@
+package com.vault.todo.ui;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskTableModelTest {
+    private TaskTableModel model;
+    private List<TableModelEvent> events;
+    // Ids as a JTable would know them, rebuilt from the events alone
+    private List<Integer> mirror;
+    private Set<Integer> insertedIds;
+    private Set<Integer> updatedIds;
+
+    @BeforeEach
+    void setUp() {
+        model = new TaskTableModel();
+        events = new ArrayList<>();
+        mirror = new ArrayList<>();
+        insertedIds = new HashSet<>();
+        updatedIds = new HashSet<>();
+        model.addTableModelListener(e -> {
+            events.add(e);
+            switch (e.getType()) {
+                case TableModelEvent.INSERT:
+                    for (int row = e.getFirstRow(); row <= e.getLastRow(); row++) {
+                        mirror.add(row, model.getTask(row).getId());
+                        insertedIds.add(model.getTask(row).getId());
+                    }
+                    break;
+                case TableModelEvent.DELETE:
+                    mirror.subList(e.getFirstRow(), e.getLastRow() + 1).clear();
+                    break;
+                default:
+                    for (int row = e.getFirstRow(); row <= e.getLastRow(); row++) {
+                        updatedIds.add(model.getTask(row).getId());
+                    }
+            }
+        });
+    }
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            tasks.add(new Task(id, "Task " + id, "", Priority.LOW, null));
+        }
+        return tasks;
+    }
+
+    private static List<Integer> ids(List<Task> tasks) {
+        List<Integer> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    private void show(List<Task> tasks) {
+        events.clear();
+        insertedIds.clear();
+        updatedIds.clear();
+        model.setTasks(tasks);
+        assertEquals(ids(tasks), ids(model.getTasks()));
+        assertEquals(ids(tasks), mirror, "events must lead to the same rows");
+    }
+
+    private void assertEvent(int index, int type, int first, int last) {
+        TableModelEvent event = events.get(index);
+        assertEquals(type, event.getType());
+        assertEquals(first, event.getFirstRow());
+        assertEquals(last, event.getLastRow());
+    }
+
+    @Test
+    void sameTasksFireNothing() {
+        List<Task> tasks = tasks(10);
+        show(tasks);
+
+        show(new ArrayList<>(tasks));
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void insertedRangeFiresOneInsert() {
+        List<Task> tasks = tasks(10);
+        show(tasks.subList(0, 4));
+        List<Task> next = new ArrayList<>(tasks.subList(0, 2));
+        next.addAll(tasks.subList(6, 9));
+        next.addAll(tasks.subList(2, 4));
+
+        show(next);
+
+        assertEquals(1, events.size());
+        assertEvent(0, TableModelEvent.INSERT, 2, 4);
+    }
+
+    @Test
+    void removedRowsFireOneDeletePerRun() {
+        List<Task> tasks = tasks(10);
+        show(tasks);
+        List<Task> next = new ArrayList<>(tasks);
+        next.removeAll(Arrays.asList(tasks.get(2), tasks.get(3), tasks.get(7)));
+
+        show(next);
+
+        assertEquals(2, events.size());
+        assertEvent(0, TableModelEvent.DELETE, 2, 3);
+        assertEvent(1, TableModelEvent.DELETE, 5, 5);
+    }
+
+    @Test
+    void movedRowIsDeletedAndInsertedOnce() {
+        List<Task> tasks = tasks(10);
+        show(tasks);
+        List<Task> next = new ArrayList<>(tasks);
+        next.add(7, next.remove(1));
+
+        show(next);
+
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getFirstRow() == e.getLastRow()));
+    }
+
+    @Test
+    void editedTasksFireUpdatesForTheirRowsOnly() {
+        List<Task> tasks = tasks(10);
+        show(tasks);
+        tasks.get(3).setTitle("Edited");
+        tasks.get(4).setPriority(Priority.HIGH);
+        tasks.get(8).setDueDate(LocalDate.of(2025, 1, 1));
+
+        show(tasks);
+
+        assertEquals(2, events.size());
+        assertEvent(0, TableModelEvent.UPDATE, 3, 4);
+        assertEvent(1, TableModelEvent.UPDATE, 8, 8);
+        assertEquals("Edited", model.getValueAt(3, 1));
+        assertEquals("2025-01-01", model.getValueAt(8, 4));
+    }
+
+    @Test
+    void replacedTaskObjectWithSameIdIsUpdated() {
+        List<Task> tasks = tasks(5);
+        show(tasks);
+        List<Task> next = new ArrayList<>(tasks);
+        next.set(2, tasks.get(2).copy());
+
+        show(next);
+
+        assertEquals(1, events.size());
+        assertEvent(0, TableModelEvent.UPDATE, 2, 2);
+        assertSame(next.get(2), model.getTask(2));
+    }
+
+    @Test
+    void randomChangesKeepEventsConsistent() {
+        Random random = new Random(11);
+        List<Task> all = tasks(60);
+        show(new ArrayList<>());
+
+        for (int round = 0; round < 500; round++) {
+            List<Task> next = new ArrayList<>();
+            for (Task task : all) {
+                if (random.nextInt(3) > 0) {
+                    next.add(task);
+                }
+            }
+            if (random.nextBoolean()) {
+                Collections.shuffle(next.subList(0, next.size() / 2), random);
+            } else if (next.size() > 1) {
+                next.add(random.nextInt(next.size()), next.remove(random.nextInt(next.size())));
+            }
+            Set<Integer> edited = new HashSet<>();
+            for (int k = 0; k < 3 && !next.isEmpty(); k++) {
+                Task task = next.get(random.nextInt(next.size()));
+                task.setTitle("Edited " + round);
+                edited.add(task.getId());
+            }
+
+            show(next);
+
+            // An edited task is either in a new row or reported as updated
+            for (int id : edited) {
+                assertTrue(updatedIds.contains(id) || insertedIds.contains(id),
+                        "edit of task " + id + " was not reported");
+            }
+        }
+    }
+}
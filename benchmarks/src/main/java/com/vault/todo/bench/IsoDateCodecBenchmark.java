@@ -0,0 +1,55 @@
+package com.vault.todo.bench;
+
+import com.vault.todo.storage.IsoDateCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The storage date codec against the JDK ISO formatter it replaces
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsoDateCodecBenchmark {
+    private final LocalDateTime value = LocalDateTime.of(2025, 6, 1, 14, 30, 15, 123_000_000);
+    private final String text = "2025-06-01T14:30:15.123";
+    private final char[] chars = text.toCharArray();
+    private final byte[] buffer = new byte[64];
+    private final StringBuilder scratch = new StringBuilder(32);
+
+    @Benchmark
+    public LocalDateTime parseCodec() {
+        return IsoDateCodec.parseDateTime(chars, 0, chars.length);
+    }
+
+    @Benchmark
+    public LocalDateTime parseFormatter() {
+        return LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    @Benchmark
+    public int formatCodec() {
+        return IsoDateCodec.formatDateTime(value, buffer, 0);
+    }
+
+    @Benchmark
+    public int formatFormatter() {
+        scratch.setLength(0);
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, scratch);
+        return scratch.length();
+    }
+}
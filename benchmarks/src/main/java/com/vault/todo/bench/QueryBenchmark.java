@@ -0,0 +1,84 @@
+package com.vault.todo.bench;
+
+import com.vault.todo.model.Task;
+import com.vault.todo.repository.TaskFilter;
+import com.vault.todo.repository.TaskRepository;
+import com.vault.todo.repository.TaskSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter and sort queries as TodoGUI runs them when the filter, sort or search box changes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class QueryBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int tasks;
+
+    @Param({"ALL", "PENDING", "OVERDUE", "DUE_TODAY"})
+    public TaskFilter filter;
+
+    @Param({"BY_PRIORITY", "BY_TITLE"})
+    public TaskSort sort;
+
+    private TaskRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new TaskRepository();
+        repository.addAll(TaskFileGenerator.generate(tasks, TaskFileGenerator.DEFAULT_SEED));
+        // Build the lazily created sorted view and search index outside the measurement
+        repository.find(TaskFilter.ALL, sort, TaskFileGenerator.TODAY);
+        repository.find(TaskFilter.ALL, sort, "re", TaskFileGenerator.TODAY);
+    }
+
+    /**
+     * The repository query behind the table: index lookup plus maintained sorted view
+     */
+    @Benchmark
+    public List<Task> find() {
+        return repository.find(filter, sort, TaskFileGenerator.TODAY);
+    }
+
+    /**
+     * Filtering every task and sorting the result, how the table used to be refreshed
+     */
+    @Benchmark
+    public List<Task> filterThenSort() {
+        List<Task> result = new ArrayList<>();
+        for (Task task : repository.getTasks()) {
+            if (filter.matches(task, TaskFileGenerator.TODAY)) {
+                result.add(task);
+            }
+        }
+        result.sort(sort.getComparator());
+        return result;
+    }
+
+    /**
+     * A search box query combined with the filter and sort
+     */
+    @Benchmark
+    public List<Task> search() {
+        return repository.find(filter, sort, "rev rep", TaskFileGenerator.TODAY);
+    }
+}
@@ -0,0 +1,113 @@
+package com.vault.todo.bench;
+
+import com.vault.todo.model.Task;
+import com.vault.todo.repository.TaskRepository;
+import com.vault.todo.storage.JsonTaskWriter;
+import com.vault.todo.storage.SerializedTaskCache;
+import com.vault.todo.storage.StorageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving JSON task files of different sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int tasks;
+
+    private Path dir;
+    private Path input;
+    private Path output;
+    private List<Task> taskList;
+    private SerializedTaskCache saveCache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("task-bench");
+        input = TaskFileGenerator.write(tasks, TaskFileGenerator.DEFAULT_SEED, dir.resolve("tasks.json"));
+        output = dir.resolve("saved.json");
+        taskList = TaskFileGenerator.generate(tasks, TaskFileGenerator.DEFAULT_SEED);
+        saveCache = new SerializedTaskCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public TaskRepository loadTasks() {
+        return StorageUtils.loadTasks(input.toString());
+    }
+
+    /**
+     * The regex loader this replaced, on the same file, as the baseline for loadTasks
+     */
+    @Benchmark
+    public List<Task> loadTasksRegexBaseline() {
+        return RegexTaskParser.loadTasks(input.toString());
+    }
+
+    /**
+     * Saving every task to a file, as an export does
+     */
+    @Benchmark
+    public void saveTasks() {
+        StorageUtils.saveTasks(taskList, output.toString());
+    }
+
+    /**
+     * Saving the same tasks again through a cache kept across saves, as repeated exports do;
+     * only the first invocation encodes, every later one copies the cached bytes
+     */
+    @Benchmark
+    public void resaveTasks() {
+        StorageUtils.saveTasks(taskList, output.toString(), false, saveCache);
+    }
+
+    /**
+     * Encoding every task from scratch, without file I/O
+     */
+    @Benchmark
+    public void encodeTasks() throws IOException {
+        JsonTaskWriter writer = new JsonTaskWriter(new NullOutputStream());
+        writer.writeTasks(taskList);
+        writer.flush();
+    }
+
+    private static class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.vault.todo.bench;
+
+import com.vault.todo.ui.TaskTableModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading cell values the way JTable does when it paints one screen of rows
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.awt.headless=true"})
+public class TableModelBenchmark {
+    private static final int VISIBLE_ROWS = 30;
+
+    @Param({"1000", "100000"})
+    public int tasks;
+
+    private TaskTableModel model;
+    private int firstRow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = new TaskTableModel();
+        model.setTasks(TaskFileGenerator.generate(tasks, TaskFileGenerator.DEFAULT_SEED));
+    }
+
+    /**
+     * Every cell of one screen, scrolling one row further each time
+     */
+    @Benchmark
+    public void paintScreen(Blackhole blackhole) {
+        int rows = model.getRowCount();
+        int columns = model.getColumnCount();
+        int start = firstRow;
+        firstRow = (firstRow + 1) % (rows - VISIBLE_ROWS);
+        for (int row = start; row < start + VISIBLE_ROWS; row++) {
+            for (int column = 0; column < columns; column++) {
+                blackhole.consume(model.getValueAt(row, column));
+            }
+        }
+    }
+}
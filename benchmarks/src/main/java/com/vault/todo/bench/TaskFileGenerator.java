@@ -0,0 +1,97 @@
+package com.vault.todo.bench;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Status;
+import com.vault.todo.model.Task;
+import com.vault.todo.model.TaskTable;
+import com.vault.todo.storage.StorageUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic task lists and task files for benchmarks
+ * Output depends only on the count and seed, so runs can be reproduced offline.
+ * Usage: TaskFileGenerator &lt;count&gt; [file] [seed]
+ */
+public class TaskFileGenerator {
+    /**
+     * The day generated due dates are spread around, benchmarks use it as "today"
+     */
+    public static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+    public static final long DEFAULT_SEED = 42;
+
+    private static final String[] TITLE_WORDS = {
+            "Review", "Write", "Fix", "Plan", "Call", "Update", "Deploy", "Test", "Draft", "Email",
+            "report", "budget", "release", "meeting", "client", "invoice", "design", "backlog",
+            "notes", "roadmap", "database", "slides", "contract", "survey", "newsletter"
+    };
+    private static final String[] DESCRIPTION_WORDS = {
+            "the", "team", "needs", "final", "numbers", "before", "friday", "check", "with",
+            "marketing", "and", "send", "summary", "to", "everyone", "on", "list", "follow",
+            "up", "after", "standup", "waiting", "for", "approval", "from", "finance"
+    };
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /**
+     * Build count tasks with ids 1..count
+     * Titles and descriptions are drawn from small vocabularies, due dates fall within
+     * 60 days either side of TODAY with some left empty, and about a third are completed
+     */
+    public static List<Task> generate(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime created = TODAY.atTime(9, 0).minusDays(365);
+        List<Task> tasks = new ArrayList<>(count);
+        TaskTable table = new TaskTable(count);
+        for (int id = 1; id <= count; id++) {
+            String title = words(random, TITLE_WORDS, 2 + random.nextInt(3));
+            String description = words(random, DESCRIPTION_WORDS, random.nextInt(25));
+            Priority priority = PRIORITIES[random.nextInt(PRIORITIES.length)];
+            LocalDate dueDate = random.nextInt(10) == 0 ? null : TODAY.plusDays(random.nextInt(121) - 60);
+            LocalDateTime createdAt = created.plusSeconds(random.nextInt(365 * 24 * 3600));
+            boolean completed = random.nextInt(3) == 0;
+            LocalDateTime completedAt = completed ? createdAt.plusHours(1 + random.nextInt(240)) : null;
+            tasks.add(table.add(id, title, description, priority, dueDate,
+                    completed ? Status.COMPLETED : Status.PENDING, createdAt, completedAt));
+        }
+        return tasks;
+    }
+
+    /**
+     * Write count generated tasks to a JSON task file
+     */
+    public static Path write(int count, long seed, Path file) {
+        StorageUtils.saveTasks(generate(count, seed), file.toString());
+        return file;
+    }
+
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TaskFileGenerator <count> [file] [seed]");
+            System.exit(1);
+        }
+        int count = Integer.parseInt(args[0]);
+        Path file = Paths.get(args.length > 1 ? args[1] : "tasks_" + count + ".json");
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        write(count, seed, file);
+        System.out.println("Wrote " + count + " tasks (" + Files.size(file) + " bytes) to " + file);
+    }
+}
@@ -0,0 +1,123 @@
+package com.vault.todo.bench;
+
+import com.vault.todo.model.Priority;
+import com.vault.todo.model.Task;
+import com.vault.todo.repository.TaskFilter;
+import com.vault.todo.repository.TaskSort;
+import com.vault.todo.service.TaskService;
+import com.vault.todo.service.TaskStats;
+import com.vault.todo.storage.TaskJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Many clients sharing one TaskService, with changes saved to a real journal
+ * Writers edit, toggle, add and delete tasks while readers run the table query and the
+ * dashboard counts, so the numbers include lock contention and the persistence writer.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TaskServiceBenchmark {
+    @Param({"1000", "100000"})
+    public int tasks;
+
+    private Path dir;
+    private TaskService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("task-service-bench");
+        Path json = TaskFileGenerator.write(tasks, TaskFileGenerator.DEFAULT_SEED, dir.resolve("tasks.json"));
+        service = new TaskService(new TaskJournal(dir.resolve("tasks.bin").toString(), json.toString()));
+        // Build the lazily created sorted view and search index outside the measurement
+        service.find(TaskFilter.ALL, TaskSort.BY_PRIORITY, "re", TaskFileGenerator.TODAY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        service.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Edit every field of a generated task, ids 1 to tasks are never deleted here
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Task update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return service.update(1 + random.nextInt(tasks), "Edited task " + random.nextInt(1000),
+                "Edited in a load test", Priority.values()[random.nextInt(3)], TaskFileGenerator.TODAY);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Task toggle() {
+        return service.toggleStatus(1 + ThreadLocalRandom.current().nextInt(tasks));
+    }
+
+    /**
+     * Add a task and delete it again, so the store keeps its size
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean createAndDelete() {
+        Task task = service.create("Load test task", "", Priority.MEDIUM, TaskFileGenerator.TODAY);
+        return service.delete(task.getId());
+    }
+
+    /**
+     * The table query behind the window: pending tasks by priority
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public List<Task> query() {
+        return service.find(TaskFilter.PENDING, TaskSort.BY_PRIORITY, "", TaskFileGenerator.TODAY);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public List<Task> search() {
+        return service.find(TaskFilter.ALL, TaskSort.BY_TITLE, "rev rep", TaskFileGenerator.TODAY);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public TaskStats stats() {
+        return service.getStats(TaskFileGenerator.TODAY);
+    }
+}
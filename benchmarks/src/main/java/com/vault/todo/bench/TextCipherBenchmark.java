@@ -0,0 +1,70 @@
+package com.vault.todo.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TextCipher.shiftText on mixed text of several sizes
+ * TextCipher is in the default package, which neither JMH nor named packages can use directly,
+ * so it is called through a constant method handle that the JIT inlines like a direct call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextCipherBenchmark {
+    private static final String ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyzabcdefghijklmnopqrstuvwxyz0123456789 .,!?";
+    private static final MethodHandle SHIFT_TEXT;
+
+    static {
+        try {
+            SHIFT_TEXT = MethodHandles.publicLookup().findStatic(Class.forName("TextCipher"), "shiftText",
+                    MethodType.methodType(String.class, String.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"16", "1024", "65536"})
+    public int length;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public String encode() throws Throwable {
+        return (String) SHIFT_TEXT.invokeExact(text, 3);
+    }
+
+    @Benchmark
+    public String decode() throws Throwable {
+        return (String) SHIFT_TEXT.invokeExact(text, -3);
+    }
+}